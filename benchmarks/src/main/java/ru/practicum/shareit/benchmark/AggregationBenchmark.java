@@ -0,0 +1,83 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.util.LongMap;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static java.util.stream.Collectors.groupingBy;
+import static java.util.stream.Collectors.toList;
+import static ru.practicum.shareit.util.Status.APPROVED;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AggregationBenchmark {
+    private static final int COMMENTS_PER_ITEM = 3;
+
+    @Param({"10", "100", "1000"})
+    public int size;
+
+    private List<Item> items;
+    private List<Booking> bookings;
+    private List<Comment> comments;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        LocalDateTime now = LocalDateTime.now();
+        items = new ArrayList<>();
+        bookings = new ArrayList<>();
+        comments = new ArrayList<>();
+        for (long i = 1; i <= size; i++) {
+            User user = new User(i, "user" + i, "user" + i + "@benchmark.ru");
+            Item item = new Item(i, "item" + i, "description " + i, true, user, null);
+            items.add(item);
+            bookings.add(new Booking(i, now, now.plusDays(1), item, user, APPROVED));
+            for (int j = 0; j < COMMENTS_PER_ITEM; j++) {
+                comments.add(new Comment(i * COMMENTS_PER_ITEM + j, "comment " + i, item, user, now));
+            }
+        }
+        Collections.shuffle(bookings);
+        Collections.shuffle(comments);
+    }
+
+    @Benchmark
+    public void itemKeyedHashMap(Blackhole blackhole) {
+        Map<Item, Booking> itemsWithBookings = bookings.stream()
+                .collect(Collectors.toMap(Booking::getItem, Function.identity(), (o1, o2) -> o1));
+        Map<Item, List<Comment>> itemsWithComments = comments.stream()
+                .collect(groupingBy(Comment::getItem, toList()));
+        for (Item item : items) {
+            blackhole.consume(itemsWithBookings.get(item));
+            blackhole.consume(itemsWithComments.getOrDefault(item, Collections.emptyList()));
+        }
+    }
+
+    @Benchmark
+    public void idKeyedLongMap(Blackhole blackhole) {
+        LongMap<Booking> itemsWithBookings = LongMap.byKey(bookings, booking -> booking.getItem().getId());
+        LongMap<List<Comment>> itemsWithComments = new LongMap<>(items.size());
+        for (Comment comment : comments) {
+            itemsWithComments.computeIfAbsent(comment.getItem().getId(), id -> new ArrayList<>()).add(comment);
+        }
+        for (Item item : items) {
+            blackhole.consume(itemsWithBookings.get(item.getId()));
+            blackhole.consume(itemsWithComments.getOrDefault(item.getId(), Collections.emptyList()));
+        }
+    }
+}
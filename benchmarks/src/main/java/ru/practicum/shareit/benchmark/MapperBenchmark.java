@@ -0,0 +1,78 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import ru.practicum.shareit.booking.dto.BookingDtoOut;
+import ru.practicum.shareit.booking.mapper.BookingMapper;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.dto.CommentDtoOut;
+import ru.practicum.shareit.item.dto.ItemDtoOut;
+import ru.practicum.shareit.item.mapper.CommentMapper;
+import ru.practicum.shareit.item.mapper.ItemMapper;
+import ru.practicum.shareit.item.model.Comment;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.request.dto.ItemRequestDtoOut;
+import ru.practicum.shareit.request.mapper.ItemRequestMapper;
+import ru.practicum.shareit.request.model.ItemRequest;
+import ru.practicum.shareit.user.model.User;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+import static ru.practicum.shareit.util.Status.APPROVED;
+
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MapperBenchmark {
+    @Param("100")
+    public int size;
+
+    private List<Booking> bookings;
+    private List<Item> items;
+    private List<Comment> comments;
+    private List<ItemRequest> requests;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        LocalDateTime now = LocalDateTime.now();
+        bookings = new ArrayList<>();
+        items = new ArrayList<>();
+        comments = new ArrayList<>();
+        requests = new ArrayList<>();
+        for (long i = 1; i <= size; i++) {
+            User user = new User(i, "user" + i, "user" + i + "@benchmark.ru");
+            ItemRequest request = new ItemRequest(i, "request " + i, user, now);
+            Item item = new Item(i, "item" + i, "description " + i, true, user, request);
+            items.add(item);
+            requests.add(request);
+            bookings.add(new Booking(i, now, now.plusDays(1), item, user, APPROVED));
+            comments.add(new Comment(i, "comment " + i, item, user, now));
+        }
+    }
+
+    @Benchmark
+    public List<BookingDtoOut> toBookingDtoOut() {
+        return bookings.stream().map(BookingMapper::toBookingDtoOut).collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<ItemDtoOut> toItemDtoOut() {
+        return items.stream().map(ItemMapper::toItemDtoOut).collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<CommentDtoOut> toCommentDtoOut() {
+        return comments.stream().map(CommentMapper::toCommentDtoOut).collect(Collectors.toList());
+    }
+
+    @Benchmark
+    public List<ItemRequestDtoOut> toItemRequestDtoOut() {
+        return requests.stream().map(ItemRequestMapper::toItemRequestDtoOut).collect(Collectors.toList());
+    }
+}
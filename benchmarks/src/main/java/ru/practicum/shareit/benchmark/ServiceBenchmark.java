@@ -0,0 +1,33 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import ru.practicum.shareit.booking.dto.BookingDtoOut;
+import ru.practicum.shareit.item.dto.ItemDtoOut;
+import ru.practicum.shareit.request.dto.ItemRequestDtoOut;
+import ru.practicum.shareit.util.Status;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(1)
+public class ServiceBenchmark {
+    @Benchmark
+    public Collection<ItemDtoOut> getUserItems(ShareItState state) {
+        return state.itemService.getUserItems(state.randomUserId(), 0, state.pageSize);
+    }
+
+    @Benchmark
+    public Collection<BookingDtoOut> getAllByOwner(ShareItState state) {
+        return state.bookingService.getAllByOwner(state.randomUserId(), Status.ALL, 0, state.pageSize);
+    }
+
+    @Benchmark
+    public List<ItemRequestDtoOut> getAllRequests(ShareItState state) {
+        return state.itemRequestService.getAll(state.randomUserId(), 0, state.pageSize);
+    }
+}
@@ -0,0 +1,112 @@
+package ru.practicum.shareit.benchmark;
+
+import org.openjdk.jmh.annotations.*;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.ShareItApp;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.request.service.ItemRequestService;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+@State(Scope.Benchmark)
+public class ShareItState {
+    private static final String PROFILES_PROPERTY = "shareit.benchmark.profiles";
+
+    @Param("100")
+    public int users;
+    @Param("10")
+    public int itemsPerUser;
+    @Param("10")
+    public int bookingsPerItem;
+    @Param("5")
+    public int commentsPerItem;
+    @Param("5")
+    public int requestsPerUser;
+    @Param("10")
+    public int pageSize;
+
+    ItemService itemService;
+    BookingService bookingService;
+    ItemRequestService itemRequestService;
+
+    private ConfigurableApplicationContext context;
+    private List<Long> userIds;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = new SpringApplicationBuilder(ShareItApp.class)
+                .web(WebApplicationType.NONE)
+                .profiles(System.getProperty(PROFILES_PROPERTY, "test").split(","))
+                .run();
+        itemService = context.getBean(ItemService.class);
+        bookingService = context.getBean(BookingService.class);
+        itemRequestService = context.getBean(ItemRequestService.class);
+        seed(context.getBean(JdbcTemplate.class));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    Long randomUserId() {
+        return userIds.get(ThreadLocalRandom.current().nextInt(userIds.size()));
+    }
+
+    private void seed(JdbcTemplate jdbcTemplate) {
+        LocalDateTime now = LocalDateTime.now();
+
+        List<Object[]> userRows = new ArrayList<>();
+        for (int i = 0; i < users; i++) {
+            userRows.add(new Object[]{"user" + i, "user" + i + "@benchmark.ru"});
+        }
+        jdbcTemplate.batchUpdate("insert into users (name, email) values (?, ?)", userRows);
+        userIds = jdbcTemplate.queryForList("select id from users order by id", Long.class);
+
+        List<Object[]> requestRows = new ArrayList<>();
+        for (int i = 0; i < users * requestsPerUser; i++) {
+            requestRows.add(new Object[]{"request " + i, userIds.get(i % users),
+                    Timestamp.valueOf(now.minusMinutes(i))});
+        }
+        jdbcTemplate.batchUpdate("insert into requests (description, requester_id, created) values (?, ?, ?)",
+                requestRows);
+        List<Long> requestIds = jdbcTemplate.queryForList("select id from requests order by id", Long.class);
+
+        List<Object[]> itemRows = new ArrayList<>();
+        for (int i = 0; i < users * itemsPerUser; i++) {
+            Long requestId = requestIds.isEmpty() || i % 2 == 0 ? null : requestIds.get(i % requestIds.size());
+            itemRows.add(new Object[]{"item" + i, "description " + i, true, userIds.get(i % users), requestId});
+        }
+        jdbcTemplate.batchUpdate("insert into items (name, description, available, owner_id, request_id) " +
+                "values (?, ?, ?, ?, ?)", itemRows);
+        List<Long> itemIds = jdbcTemplate.queryForList("select id from items order by id", Long.class);
+
+        List<Object[]> bookingRows = new ArrayList<>();
+        List<Object[]> commentRows = new ArrayList<>();
+        for (int i = 0; i < itemIds.size(); i++) {
+            Long itemId = itemIds.get(i);
+            Long bookerId = userIds.get((i + 1) % users);
+            for (int k = 0; k < bookingsPerItem; k++) {
+                LocalDateTime start = now.plusDays(k - bookingsPerItem / 2);
+                bookingRows.add(new Object[]{Timestamp.valueOf(start), Timestamp.valueOf(start.plusHours(23)),
+                        itemId, bookerId, k % 2 == 0 ? "APPROVED" : "WAITING"});
+            }
+            for (int k = 0; k < commentsPerItem; k++) {
+                commentRows.add(new Object[]{"comment " + k, itemId, bookerId,
+                        Timestamp.valueOf(now.minusHours(k))});
+            }
+        }
+        jdbcTemplate.batchUpdate("insert into bookings (start_date, end_date, item_id, booker_id, status) " +
+                "values (?, ?, ?, ?, ?)", bookingRows);
+        jdbcTemplate.batchUpdate("insert into comments (text, item_id, author_id, created) values (?, ?, ?, ?)",
+                commentRows);
+    }
+}
@@ -0,0 +1,88 @@
+package ru.practicum.shareit.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeStrategies;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.booking.BookingClient;
+import ru.practicum.shareit.booking.dto.BookingState;
+import ru.practicum.shareit.client.ResponseCache;
+import ru.practicum.shareit.client.ratelimit.LocalRateLimitStore;
+import ru.practicum.shareit.client.ratelimit.RateLimitProperties;
+import ru.practicum.shareit.client.ratelimit.RateLimiter;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.StringJoiner;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PassthroughBenchmark {
+    private static final String SERVER_URL = "http://shareit-server";
+
+    @Param({"10", "100", "1000"})
+    public int size;
+
+    private BookingClient bookingClient;
+    private WebClient webClient;
+    private ObjectMapper objectMapper;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        String json = bookingsJson(size);
+        WebClient.Builder builder = WebClient.builder()
+                .exchangeFunction(request -> Mono.just(ClientResponse.create(HttpStatus.OK, ExchangeStrategies.withDefaults())
+                        .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                        .body(json)
+                        .build()));
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        RateLimitProperties rateLimitProperties = new RateLimitProperties();
+        rateLimitProperties.setEnabled(false);
+        RateLimiter rateLimiter = new RateLimiter(rateLimitProperties, new LocalRateLimitStore(rateLimitProperties),
+                meterRegistry);
+        bookingClient = new BookingClient(SERVER_URL, builder, new ResponseCache(Duration.ZERO, 1, meterRegistry),
+                rateLimiter);
+        webClient = builder.build();
+        objectMapper = new ObjectMapper();
+    }
+
+    @Benchmark
+    public Object passthrough() {
+        return bookingClient.getAllByOwner(1L, BookingState.ALL, 0, size).block().getBody();
+    }
+
+    @Benchmark
+    public byte[] parseAndReserialize() throws Exception {
+        ResponseEntity<Object> response = webClient.get()
+                .uri(SERVER_URL + "/bookings/owner?state=ALL&from=0&size=" + size)
+                .exchangeToMono(clientResponse -> clientResponse.toEntity(Object.class))
+                .block();
+        return objectMapper.writeValueAsBytes(response.getBody());
+    }
+
+    private static String bookingsJson(int size) {
+        LocalDateTime start = LocalDateTime.of(2030, 1, 1, 10, 0);
+        StringJoiner json = new StringJoiner(",", "[", "]");
+        for (int i = 1; i <= size; i++) {
+            json.add("{\"id\":" + i +
+                    ",\"start\":\"" + start.plusDays(i) + "\"" +
+                    ",\"end\":\"" + start.plusDays(i + 1) + "\"" +
+                    ",\"item\":{\"id\":" + i + ",\"name\":\"item" + i + "\"}" +
+                    ",\"booker\":{\"id\":" + i + ",\"name\":\"user" + i + "\"}" +
+                    ",\"status\":\"APPROVED\"}");
+        }
+        return json.toString();
+    }
+}
@@ -2,15 +2,18 @@ package ru.practicum.shareit.booking;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingState;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ResponseCache;
+import ru.practicum.shareit.client.ratelimit.RateLimiter;
 
+import java.util.List;
 import java.util.Map;
 
 @Service
@@ -18,35 +21,50 @@ public class BookingClient extends BaseClient {
     private static final String API_PREFIX = "/bookings";
 
     @Autowired
-    public BookingClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public BookingClient(@Value("${shareit-server.url}") String serverUrl, WebClient.Builder builder,
+                         ResponseCache responseCache, RateLimiter rateLimiter) {
         super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
+                new DefaultUriBuilderFactory(serverUrl + API_PREFIX),
+                builder.build(),
+                responseCache,
+                rateLimiter
         );
     }
 
-    public ResponseEntity<Object> add(BookingDto bookingDto, long userId) {
+    public Mono<ResponseEntity<Object>> add(BookingDto bookingDto, long userId) {
         return post("", userId, bookingDto);
     }
 
-    public ResponseEntity<Object> getAllByUser(long userId, BookingState state, Integer from, Integer size) {
+    public Mono<ResponseEntity<Object>> addAll(List<BookingDto> bookingDtos, long userId) {
+        return post("/batch", userId, bookingDtos);
+    }
+
+    public Mono<ResponseEntity<Object>> getAllByUser(long userId, BookingState state, Integer from, Integer size) {
         Map<String, Object> parameters = Map.of("state", state, "from", from, "size", size);
         return get("?state={state}&from={from}&size={size}", userId, parameters);
     }
 
-    public ResponseEntity<Object> getById(long userId, Long bookingId) {
+    public Mono<ResponseEntity<Object>> getById(long userId, Long bookingId) {
         return get("/" + bookingId, userId);
     }
 
-    public ResponseEntity<Object> approve(long bookingId, long userId, Boolean approved) {
+    public Mono<ResponseEntity<Object>> approve(long bookingId, long userId, Boolean approved) {
         Map<String, Object> parameters = Map.of("approved", approved);
         return patch("/" + bookingId + "?approved={approved}", userId, parameters, null);
     }
 
-    public ResponseEntity<Object> getAllByOwner(long userId, BookingState state, int from, int size) {
+    public Mono<ResponseEntity<Object>> getAllByOwner(long userId, BookingState state, int from, int size) {
         Map<String, Object> parameters = Map.of("state", state, "from", from, "size", size);
         return get("/owner?state={state}&from={from}&size={size}", userId, parameters);
     }
-}
\ No newline at end of file
+
+    public Mono<ResponseEntity<Object>> getAllByUserAfter(long userId, BookingState state, String cursor, int size) {
+        Map<String, Object> parameters = Map.of("state", state, "cursor", cursor, "size", size);
+        return get("?state={state}&cursor={cursor}&size={size}", userId, parameters);
+    }
+
+    public Mono<ResponseEntity<Object>> getAllByOwnerAfter(long userId, BookingState state, String cursor, int size) {
+        Map<String, Object> parameters = Map.of("state", state, "cursor", cursor, "size", size);
+        return get("/owner?state={state}&cursor={cursor}&size={size}", userId, parameters);
+    }
+}
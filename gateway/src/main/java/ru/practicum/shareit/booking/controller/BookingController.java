@@ -5,13 +5,17 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.booking.BookingClient;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingState;
 
 import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
+import javax.validation.constraints.Size;
+import java.util.List;
 
 
 @RestController
@@ -24,44 +28,71 @@ public class BookingController {
     private final BookingClient bookingClient;
 
     @PostMapping
-    public ResponseEntity<Object> add(@Valid @RequestBody BookingDto bookingDto,
-                                      @RequestHeader(HEADER) Long userId) {
+    public Mono<ResponseEntity<Object>> add(@Valid @RequestBody BookingDto bookingDto,
+                                            @RequestHeader(HEADER) Long userId) {
         log.info("New POST request /bookings");
         return bookingClient.add(bookingDto, userId);
     }
 
+    @PostMapping("/batch")
+    public Mono<ResponseEntity<Object>> addAll(@RequestBody @NotEmpty @Size(max = 5000) List<BookingDto> bookingDtos,
+                                               @RequestHeader(HEADER) Long userId) {
+        log.info("New POST request /bookings/batch with {} bookings", bookingDtos.size());
+        return bookingClient.addAll(bookingDtos, userId);
+    }
+
     @PatchMapping("/{bookingId}")
-    public ResponseEntity<Object> approve(@PathVariable Long bookingId, @RequestParam(name = "approved") Boolean approved,
-                                          @RequestHeader(HEADER) Long userId) {
+    public Mono<ResponseEntity<Object>> approve(@PathVariable Long bookingId, @RequestParam(name = "approved") Boolean approved,
+                                                @RequestHeader(HEADER) Long userId) {
         log.info("New PATCH request /bookings/{}", bookingId);
         return bookingClient.approve(bookingId, userId, approved);
     }
 
     @GetMapping("/{bookingId}")
-    public ResponseEntity<Object> getBookingById(@PathVariable Long bookingId, @RequestHeader(HEADER) Long userId) {
+    public Mono<ResponseEntity<Object>> getBookingById(@PathVariable Long bookingId, @RequestHeader(HEADER) Long userId) {
         log.info("New GET request /bookings/{}", bookingId);
         return bookingClient.getById(userId, bookingId);
     }
 
     @GetMapping
-    public ResponseEntity<Object> getAllByUser(@RequestParam(name = "state", defaultValue = "ALL") String state,
-                                               @RequestHeader(HEADER) Long bookerId,
-                                               @RequestParam(defaultValue = "0")
-                                               @PositiveOrZero int from,
-                                               @RequestParam(defaultValue = "10")
-                                               @Positive int size) {
+    public Mono<ResponseEntity<Object>> getAllByUser(@RequestParam(name = "state", defaultValue = "ALL") String state,
+                                                     @RequestHeader(HEADER) Long bookerId,
+                                                     @RequestParam(defaultValue = "0")
+                                                     @PositiveOrZero int from,
+                                                     @RequestParam(defaultValue = "10")
+                                                     @Positive int size) {
         log.info("New GET request for all bookings for user {}", bookerId);
         return bookingClient.getAllByUser(bookerId, BookingState.getEnumByString(state), from, size);
     }
 
     @GetMapping("/owner")
-    public ResponseEntity<Object> getAllByOwner(@RequestParam(name = "state", defaultValue = "ALL") String state,
-                                                @RequestHeader(HEADER) Long ownerId,
-                                                @RequestParam(defaultValue = "0")
-                                                @PositiveOrZero int from,
-                                                @RequestParam(defaultValue = "10")
-                                                @Positive int size) {
+    public Mono<ResponseEntity<Object>> getAllByOwner(@RequestParam(name = "state", defaultValue = "ALL") String state,
+                                                      @RequestHeader(HEADER) Long ownerId,
+                                                      @RequestParam(defaultValue = "0")
+                                                      @PositiveOrZero int from,
+                                                      @RequestParam(defaultValue = "10")
+                                                      @Positive int size) {
         log.info("New GET request /bookings/owner?state= , ownerId = {}", ownerId);
         return bookingClient.getAllByOwner(ownerId, BookingState.getEnumByString(state), from, size);
     }
+
+    @GetMapping(params = "cursor")
+    public Mono<ResponseEntity<Object>> getAllByUserAfter(@RequestParam(name = "state", defaultValue = "ALL") String state,
+                                                          @RequestHeader(HEADER) Long bookerId,
+                                                          @RequestParam String cursor,
+                                                          @RequestParam(defaultValue = "10")
+                                                          @Positive int size) {
+        log.info("New GET request for bookings page for user {}", bookerId);
+        return bookingClient.getAllByUserAfter(bookerId, BookingState.getEnumByString(state), cursor, size);
+    }
+
+    @GetMapping(path = "/owner", params = "cursor")
+    public Mono<ResponseEntity<Object>> getAllByOwnerAfter(@RequestParam(name = "state", defaultValue = "ALL") String state,
+                                                           @RequestHeader(HEADER) Long ownerId,
+                                                           @RequestParam String cursor,
+                                                           @RequestParam(defaultValue = "10")
+                                                           @Positive int size) {
+        log.info("New GET request for bookings page for owner {}", ownerId);
+        return bookingClient.getAllByOwnerAfter(ownerId, BookingState.getEnumByString(state), cursor, size);
+    }
 }
@@ -2,111 +2,185 @@ package ru.practicum.shareit.client;
 
 import org.springframework.http.*;
 import org.springframework.lang.Nullable;
-import org.springframework.web.client.HttpStatusCodeException;
-import org.springframework.web.client.RestTemplate;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.util.UriBuilderFactory;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.client.ratelimit.RateLimiter;
+import ru.practicum.shareit.util.exception.TooManyRequestsException;
 
+import java.net.URI;
 import java.util.List;
 import java.util.Map;
 
 public class BaseClient {
-    protected final RestTemplate rest;
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    protected final WebClient webClient;
+    private final UriBuilderFactory uriBuilderFactory;
+    private final ResponseCache responseCache;
+    private final RateLimiter rateLimiter;
 
-    public BaseClient(RestTemplate rest) {
-        this.rest = rest;
+    public BaseClient(UriBuilderFactory uriBuilderFactory, WebClient webClient, ResponseCache responseCache,
+                      RateLimiter rateLimiter) {
+        this.uriBuilderFactory = uriBuilderFactory;
+        this.webClient = webClient;
+        this.responseCache = responseCache;
+        this.rateLimiter = rateLimiter;
     }
 
-    protected ResponseEntity<Object> get(String path) {
+    protected Mono<ResponseEntity<Object>> get(String path) {
         return get(path, null, null);
     }
 
-    protected ResponseEntity<Object> get(String path, long userId) {
+    protected Mono<ResponseEntity<Object>> get(String path, long userId) {
         return get(path, userId, null);
     }
 
-    protected ResponseEntity<Object> get(String path, Long userId, @Nullable Map<String, Object> parameters) {
-        return makeAndSendRequest(HttpMethod.GET, path, userId, parameters, null);
+    protected Mono<ResponseEntity<Object>> get(String path, Long userId, @Nullable Map<String, Object> parameters) {
+        return makeAndSendRequest(HttpMethod.GET, path, userId, parameters, null, false);
     }
 
-    protected <T> ResponseEntity<Object> post(String path, T body) {
+    protected Mono<ResponseEntity<Object>> getShared(String path, long userId, @Nullable Map<String, Object> parameters) {
+        return makeAndSendRequest(HttpMethod.GET, path, userId, parameters, null, true);
+    }
+
+    protected <T> Mono<ResponseEntity<Object>> post(String path, T body) {
         return post(path, null, null, body);
     }
 
-    protected <T> ResponseEntity<Object> post(String path, long userId, T body) {
+    protected <T> Mono<ResponseEntity<Object>> post(String path, long userId, T body) {
         return post(path, userId, null, body);
     }
 
-    protected <T> ResponseEntity<Object> post(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
-        return makeAndSendRequest(HttpMethod.POST, path, userId, parameters, body);
+    protected <T> Mono<ResponseEntity<Object>> post(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
+        return makeAndSendRequest(HttpMethod.POST, path, userId, parameters, body, false);
     }
 
-    protected <T> ResponseEntity<Object> put(String path, long userId, T body) {
+    protected <T> Mono<ResponseEntity<Object>> put(String path, long userId, T body) {
         return put(path, userId, null, body);
     }
 
-    protected <T> ResponseEntity<Object> put(String path, long userId, @Nullable Map<String, Object> parameters, T body) {
-        return makeAndSendRequest(HttpMethod.PUT, path, userId, parameters, body);
+    protected <T> Mono<ResponseEntity<Object>> put(String path, long userId, @Nullable Map<String, Object> parameters, T body) {
+        return makeAndSendRequest(HttpMethod.PUT, path, userId, parameters, body, false);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, T body) {
+    protected <T> Mono<ResponseEntity<Object>> patch(String path, T body) {
         return patch(path, null, null, body);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, long userId) {
+    protected <T> Mono<ResponseEntity<Object>> patch(String path, long userId) {
         return patch(path, userId, null, null);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, long userId, T body) {
+    protected <T> Mono<ResponseEntity<Object>> patch(String path, long userId, T body) {
         return patch(path, userId, null, body);
     }
 
-    protected <T> ResponseEntity<Object> patch(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
-        return makeAndSendRequest(HttpMethod.PATCH, path, userId, parameters, body);
+    protected <T> Mono<ResponseEntity<Object>> patch(String path, Long userId, @Nullable Map<String, Object> parameters, T body) {
+        return makeAndSendRequest(HttpMethod.PATCH, path, userId, parameters, body, false);
     }
 
-    protected ResponseEntity<Object> delete(String path) {
+    protected Mono<ResponseEntity<Object>> delete(String path) {
         return delete(path, null, null);
     }
 
-    protected ResponseEntity<Object> delete(String path, long userId) {
+    protected Mono<ResponseEntity<Object>> delete(String path, long userId) {
         return delete(path, userId, null);
     }
 
-    protected ResponseEntity<Object> delete(String path, Long userId, @Nullable Map<String, Object> parameters) {
-        return makeAndSendRequest(HttpMethod.DELETE, path, userId, parameters, null);
+    protected Mono<ResponseEntity<Object>> delete(String path, Long userId, @Nullable Map<String, Object> parameters) {
+        return makeAndSendRequest(HttpMethod.DELETE, path, userId, parameters, null, false);
     }
 
-    private <T> ResponseEntity<Object> makeAndSendRequest(HttpMethod method, String path, Long userId, @Nullable Map<String, Object> parameters, @Nullable T body) {
-        HttpEntity<T> requestEntity = new HttpEntity<>(body, defaultHeaders(userId));
-
-        ResponseEntity<Object> shareitServerResponse;
-        try {
-            if (parameters != null) {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class, parameters);
-            } else {
-                shareitServerResponse = rest.exchange(path, method, requestEntity, Object.class);
-            }
-        } catch (HttpStatusCodeException e) {
-            return ResponseEntity.status(e.getStatusCode()).body(e.getResponseBodyAsByteArray());
+    private <T> Mono<ResponseEntity<Object>> makeAndSendRequest(HttpMethod method, String path, Long userId,
+                                                                @Nullable Map<String, Object> parameters,
+                                                                @Nullable T body, boolean shared) {
+        URI uri = parameters != null
+                ? uriBuilderFactory.expand(path, parameters)
+                : uriBuilderFactory.expand(path);
+        long retryAfter = rateLimiter.acquire(userId, uri.getPath());
+        if (retryAfter > 0) {
+            return Mono.error(new TooManyRequestsException("Too many requests, retry in " + retryAfter + " s.", retryAfter));
         }
-        return prepareGatewayResponse(shareitServerResponse);
-    }
-
-    private HttpHeaders defaultHeaders(Long userId) {
-        HttpHeaders headers = new HttpHeaders();
+        if (method == HttpMethod.GET) {
+            return getCached(uri, userId, shared);
+        }
+        WebClient.RequestBodySpec request = webClient.method(method)
+                .uri(uri)
+                .headers(headers -> defaultHeaders(headers, userId));
+        return send(body != null ? request.bodyValue(body) : request)
+                .doFinally(signal -> responseCache.evictAll());
+    }
+
+    private Mono<ResponseEntity<Object>> getCached(URI uri, Long userId, boolean shared) {
+        String key = shared ? uri.toString() : uri + "#" + userId;
+        ResponseCache.Entry cached = responseCache.get(key);
+        if (cached != null && cached.isFresh()) {
+            return Mono.just(cachedResponse(cached));
+        }
+        return responseCache.load(key, () -> revalidate(key, uri, userId, cached));
+    }
+
+    private Mono<ResponseEntity<Object>> revalidate(String key, URI uri, Long userId, @Nullable ResponseCache.Entry cached) {
+        long generation = responseCache.generation();
+        return send(webClient.get()
+                .uri(uri)
+                .headers(headers -> {
+                    defaultHeaders(headers, userId);
+                    if (cached != null) {
+                        headers.setIfNoneMatch(cached.getEtag());
+                    }
+                }))
+                .map(response -> {
+                    if (cached != null && response.getStatusCode() == HttpStatus.NOT_MODIFIED) {
+                        responseCache.put(key, cached.getEtag(), cached.getNextCursor(), cached.getBody(), generation);
+                        return cachedResponse(cached);
+                    }
+                    String etag = response.getHeaders().getETag();
+                    if (response.getStatusCode() == HttpStatus.OK && etag != null) {
+                        responseCache.put(key, etag, response.getHeaders().getFirst(NEXT_CURSOR_HEADER),
+                                response.getBody(), generation);
+                    }
+                    return response;
+                });
+    }
+
+    private Mono<ResponseEntity<Object>> send(WebClient.RequestHeadersSpec<?> request) {
+        return request.exchangeToMono(response -> response.toEntity(byte[].class))
+                .map(BaseClient::prepareGatewayResponse);
+    }
+
+    private void defaultHeaders(HttpHeaders headers, Long userId) {
         headers.setContentType(MediaType.APPLICATION_JSON);
         headers.setAccept(List.of(MediaType.APPLICATION_JSON));
         if (userId != null) {
             headers.set("X-Sharer-User-Id", String.valueOf(userId));
         }
-        return headers;
     }
 
-    private static ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<Object> response) {
-        if (response.getStatusCode().is2xxSuccessful()) {
-            return response;
+    private static ResponseEntity<Object> cachedResponse(ResponseCache.Entry cached) {
+        ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.ok()
+                .eTag(cached.getEtag())
+                .contentType(MediaType.APPLICATION_JSON);
+        if (cached.getNextCursor() != null) {
+            responseBuilder.header(NEXT_CURSOR_HEADER, cached.getNextCursor());
         }
+        return responseBuilder.body(cached.getBody());
+    }
 
+    private static ResponseEntity<Object> prepareGatewayResponse(ResponseEntity<?> response) {
         ResponseEntity.BodyBuilder responseBuilder = ResponseEntity.status(response.getStatusCode());
+        String etag = response.getHeaders().getETag();
+        if (etag != null) {
+            responseBuilder.eTag(etag);
+        }
+        MediaType contentType = response.getHeaders().getContentType();
+        if (contentType != null) {
+            responseBuilder.contentType(contentType);
+        }
+        String nextCursor = response.getHeaders().getFirst(NEXT_CURSOR_HEADER);
+        if (nextCursor != null) {
+            responseBuilder.header(NEXT_CURSOR_HEADER, nextCursor);
+        }
 
         if (response.hasBody()) {
             return responseBuilder.body(response.getBody());
@@ -114,4 +188,4 @@ public class BaseClient {
 
         return responseBuilder.build();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,110 @@
+package ru.practicum.shareit.client;
+
+import lombok.Getter;
+
+import java.time.Duration;
+import java.util.function.LongSupplier;
+
+public class CircuitBreaker {
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    private final boolean[] outcomes;
+    private final int minCalls;
+    private final double failureRate;
+    private final long openNanos;
+    private final int halfOpenCalls;
+    private final LongSupplier nanoClock;
+
+    @Getter
+    private State state = State.CLOSED;
+    private int calls;
+    private int failures;
+    private int next;
+    private long openedAt;
+    private int trials;
+
+    public CircuitBreaker(int windowSize, int minCalls, double failureRate, Duration openDuration, int halfOpenCalls) {
+        this(windowSize, minCalls, failureRate, openDuration, halfOpenCalls, System::nanoTime);
+    }
+
+    CircuitBreaker(int windowSize, int minCalls, double failureRate, Duration openDuration, int halfOpenCalls,
+                   LongSupplier nanoClock) {
+        this.nanoClock = nanoClock;
+        this.outcomes = new boolean[windowSize];
+        this.minCalls = minCalls;
+        this.failureRate = failureRate;
+        this.openNanos = openDuration.toNanos();
+        this.halfOpenCalls = halfOpenCalls;
+    }
+
+    public synchronized boolean tryAcquire() {
+        if (state == State.OPEN) {
+            if (nanoClock.getAsLong() - openedAt < openNanos) {
+                return false;
+            }
+            state = State.HALF_OPEN;
+            trials = 0;
+        }
+        if (state == State.HALF_OPEN) {
+            if (trials >= halfOpenCalls) {
+                return false;
+            }
+            trials++;
+        }
+        return true;
+    }
+
+    public synchronized void release() {
+        if (state == State.HALF_OPEN && trials > 0) {
+            trials--;
+        }
+    }
+
+    public synchronized void onSuccess() {
+        if (state == State.HALF_OPEN) {
+            reset();
+            return;
+        }
+        record(false);
+    }
+
+    public synchronized void onFailure() {
+        if (state == State.HALF_OPEN) {
+            open();
+            return;
+        }
+        record(true);
+        if (calls >= minCalls && failures >= failureRate * calls) {
+            open();
+        }
+    }
+
+    private void record(boolean failure) {
+        if (calls == outcomes.length) {
+            if (outcomes[next]) {
+                failures--;
+            }
+        } else {
+            calls++;
+        }
+        outcomes[next] = failure;
+        if (failure) {
+            failures++;
+        }
+        next = (next + 1) % outcomes.length;
+    }
+
+    private void open() {
+        state = State.OPEN;
+        openedAt = nanoClock.getAsLong();
+    }
+
+    private void reset() {
+        state = State.CLOSED;
+        calls = 0;
+        failures = 0;
+        next = 0;
+    }
+}
@@ -0,0 +1,134 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.netty.channel.ChannelOption;
+import org.apache.hc.client5.http.config.RequestConfig;
+import org.apache.hc.client5.http.impl.DefaultConnectionKeepAliveStrategy;
+import org.apache.hc.client5.http.impl.async.HttpAsyncClients;
+import org.apache.hc.client5.http.impl.nio.PoolingAsyncClientConnectionManager;
+import org.apache.hc.client5.http.impl.nio.PoolingAsyncClientConnectionManagerBuilder;
+import org.apache.hc.core5.util.TimeValue;
+import org.apache.hc.core5.util.Timeout;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnWebApplication;
+import org.springframework.boot.web.reactive.function.client.WebClientCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.HttpComponentsClientHttpConnector;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+
+@Configuration
+public class ClientConfig {
+    @Bean
+    public WebClientCustomizer upstreamGuardCustomizer(UpstreamGuard upstreamGuard) {
+        return builder -> builder.filter(upstreamGuard);
+    }
+
+    @Configuration
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.SERVLET)
+    public static class ServletClientConfig {
+        private static final String POOL_METRIC_PREFIX = "httpcomponents.httpclient.pool.";
+
+        @Bean(destroyMethod = "close")
+        public PoolingAsyncClientConnectionManager connectionManager(
+                @Value("${shareit-gateway.http.max-total:200}") int maxTotal,
+                @Value("${shareit-gateway.http.max-per-route:100}") int maxPerRoute,
+                @Value("${shareit-gateway.http.validate-after-inactivity:PT2S}") Duration validateAfterInactivity) {
+            return PoolingAsyncClientConnectionManagerBuilder.create()
+                    .setMaxConnTotal(maxTotal)
+                    .setMaxConnPerRoute(maxPerRoute)
+                    .setValidateAfterInactivity(TimeValue.ofMilliseconds(validateAfterInactivity.toMillis()))
+                    .build();
+        }
+
+        @Bean
+        public HttpComponentsClientHttpConnector clientHttpConnector(
+                PoolingAsyncClientConnectionManager connectionManager,
+                @Value("${shareit-gateway.http.connect-timeout:PT2S}") Duration connectTimeout,
+                @Value("${shareit-gateway.http.read-timeout:PT10S}") Duration readTimeout,
+                @Value("${shareit-gateway.http.pool-timeout:PT1S}") Duration poolTimeout,
+                @Value("${shareit-gateway.http.keep-alive:PT30S}") Duration keepAlive,
+                @Value("${shareit-gateway.http.idle-timeout:PT30S}") Duration idleTimeout) {
+            RequestConfig requestConfig = RequestConfig.custom()
+                    .setConnectTimeout(Timeout.ofMilliseconds(connectTimeout.toMillis()))
+                    .setResponseTimeout(Timeout.ofMilliseconds(readTimeout.toMillis()))
+                    .setConnectionRequestTimeout(Timeout.ofMilliseconds(poolTimeout.toMillis()))
+                    .build();
+            TimeValue maxKeepAlive = TimeValue.ofMilliseconds(keepAlive.toMillis());
+            return new HttpComponentsClientHttpConnector(HttpAsyncClients.custom()
+                    .setConnectionManager(connectionManager)
+                    .setConnectionManagerShared(true)
+                    .setDefaultRequestConfig(requestConfig)
+                    .setKeepAliveStrategy((response, context) -> {
+                        TimeValue serverKeepAlive = DefaultConnectionKeepAliveStrategy.INSTANCE
+                                .getKeepAliveDuration(response, context);
+                        return TimeValue.isPositive(serverKeepAlive)
+                                ? TimeValue.ofMilliseconds(Math.min(serverKeepAlive.toMilliseconds(), keepAlive.toMillis()))
+                                : maxKeepAlive;
+                    })
+                    .evictExpiredConnections()
+                    .evictIdleConnections(TimeValue.ofMilliseconds(idleTimeout.toMillis()))
+                    .build());
+        }
+
+        @Bean
+        public MeterBinder connectionPoolMetrics(PoolingAsyncClientConnectionManager connectionManager) {
+            return registry -> {
+                Gauge.builder(POOL_METRIC_PREFIX + "total.max", connectionManager,
+                                manager -> manager.getTotalStats().getMax())
+                        .tag("httpclient", "shareit-server")
+                        .register(registry);
+                Gauge.builder(POOL_METRIC_PREFIX + "total.connections", connectionManager,
+                                manager -> manager.getTotalStats().getAvailable())
+                        .tags("httpclient", "shareit-server", "state", "available")
+                        .register(registry);
+                Gauge.builder(POOL_METRIC_PREFIX + "total.connections", connectionManager,
+                                manager -> manager.getTotalStats().getLeased())
+                        .tags("httpclient", "shareit-server", "state", "leased")
+                        .register(registry);
+                Gauge.builder(POOL_METRIC_PREFIX + "total.pending", connectionManager,
+                                manager -> manager.getTotalStats().getPending())
+                        .tag("httpclient", "shareit-server")
+                        .register(registry);
+            };
+        }
+    }
+
+    @Configuration
+    @ConditionalOnWebApplication(type = ConditionalOnWebApplication.Type.REACTIVE)
+    public static class ReactiveClientConfig {
+        @Bean(destroyMethod = "dispose")
+        public ConnectionProvider connectionProvider(
+                @Value("${shareit-gateway.http.max-connections:100}") int maxConnections,
+                @Value("${shareit-gateway.http.max-pending:1000}") int maxPending,
+                @Value("${shareit-gateway.http.pool-timeout:PT1S}") Duration poolTimeout,
+                @Value("${shareit-gateway.http.keep-alive:PT30S}") Duration keepAlive,
+                @Value("${shareit-gateway.http.idle-timeout:PT30S}") Duration idleTimeout) {
+            return ConnectionProvider.builder("shareit-server")
+                    .maxConnections(maxConnections)
+                    .pendingAcquireMaxCount(maxPending)
+                    .pendingAcquireTimeout(poolTimeout)
+                    .maxLifeTime(keepAlive)
+                    .maxIdleTime(idleTimeout)
+                    .evictInBackground(idleTimeout)
+                    .metrics(true)
+                    .build();
+        }
+
+        @Bean
+        public ReactorClientHttpConnector clientHttpConnector(
+                ConnectionProvider connectionProvider,
+                @Value("${shareit-gateway.http.connect-timeout:PT2S}") Duration connectTimeout,
+                @Value("${shareit-gateway.http.read-timeout:PT10S}") Duration readTimeout) {
+            return new ReactorClientHttpConnector(HttpClient.create(connectionProvider)
+                    .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connectTimeout.toMillis())
+                    .responseTimeout(readTimeout)
+                    .keepAlive(true));
+        }
+    }
+}
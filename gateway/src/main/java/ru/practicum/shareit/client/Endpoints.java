@@ -0,0 +1,14 @@
+package ru.practicum.shareit.client;
+
+import java.util.regex.Pattern;
+
+public final class Endpoints {
+    private static final Pattern ID_SEGMENT = Pattern.compile("/\\d+(?=/|$)");
+
+    private Endpoints() {
+    }
+
+    public static String template(String path) {
+        return ID_SEGMENT.matcher(path).replaceAll("/{id}");
+    }
+}
@@ -0,0 +1,90 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+@Component
+public class ResponseCache {
+    private final long ttlMillis;
+    private final Map<String, Entry> entries;
+    private final Map<String, Mono<ResponseEntity<Object>>> inFlight = new ConcurrentHashMap<>();
+    private final Counter issued;
+    private final Counter coalesced;
+    private long generation;
+
+    public ResponseCache(@Value("${shareit-gateway.cache.ttl:PT5S}") Duration ttl,
+                         @Value("${shareit-gateway.cache.max-size:10000}") int maxSize,
+                         MeterRegistry meterRegistry) {
+        this.ttlMillis = ttl.toMillis();
+        this.issued = meterRegistry.counter("shareit.gateway.upstream.requests", "result", "issued");
+        this.coalesced = meterRegistry.counter("shareit.gateway.upstream.requests", "result", "coalesced");
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+
+    public synchronized Entry get(String key) {
+        return entries.get(key);
+    }
+
+    public synchronized long generation() {
+        return generation;
+    }
+
+    public synchronized void put(String key, String etag, @Nullable String nextCursor, Object body, long loadedAt) {
+        if (loadedAt == generation) {
+            entries.put(key, new Entry(etag, nextCursor, body, System.currentTimeMillis() + ttlMillis));
+        }
+    }
+
+    public Mono<ResponseEntity<Object>> load(String key, Supplier<Mono<ResponseEntity<Object>>> loader) {
+        return Mono.defer(() -> {
+            boolean[] leader = {false};
+            Mono<ResponseEntity<Object>> call = inFlight.computeIfAbsent(key, k -> {
+                leader[0] = true;
+                return loader.get().cache();
+            });
+            if (!leader[0]) {
+                coalesced.increment();
+                return call;
+            }
+            issued.increment();
+            return call.doFinally(signal -> inFlight.remove(key, call));
+        });
+    }
+
+    public synchronized void evictAll() {
+        generation++;
+        entries.clear();
+        inFlight.clear();
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Entry {
+        private final String etag;
+        private final String nextCursor;
+        private final Object body;
+        private final long expiresAt;
+
+        public boolean isFresh() {
+            return System.currentTimeMillis() < expiresAt;
+        }
+    }
+}
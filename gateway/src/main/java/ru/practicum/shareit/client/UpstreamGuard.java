@@ -0,0 +1,110 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.util.exception.ServiceUnavailableException;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+@Component
+@Slf4j
+public class UpstreamGuard implements ExchangeFilterFunction {
+    private final Map<String, CircuitBreaker> breakers = new ConcurrentHashMap<>();
+    private final ConcurrencyLimiter limiter;
+    private final MeterRegistry meterRegistry;
+    private final int windowSize;
+    private final int minCalls;
+    private final double failureRate;
+    private final Duration openDuration;
+    private final int halfOpenCalls;
+
+    public UpstreamGuard(@Value("${shareit-gateway.circuit-breaker.window-size:20}") int windowSize,
+                         @Value("${shareit-gateway.circuit-breaker.min-calls:10}") int minCalls,
+                         @Value("${shareit-gateway.circuit-breaker.failure-rate:0.5}") double failureRate,
+                         @Value("${shareit-gateway.circuit-breaker.open-duration:PT10S}") Duration openDuration,
+                         @Value("${shareit-gateway.circuit-breaker.half-open-calls:3}") int halfOpenCalls,
+                         @Value("${shareit-gateway.concurrency.initial-limit:100}") int initialLimit,
+                         @Value("${shareit-gateway.concurrency.min-limit:10}") int minLimit,
+                         @Value("${shareit-gateway.concurrency.max-limit:500}") int maxLimit,
+                         @Value("${shareit-gateway.concurrency.latency-threshold:PT1S}") Duration latencyThreshold,
+                         @Value("${shareit-gateway.concurrency.backoff-ratio:0.9}") double backoffRatio,
+                         MeterRegistry meterRegistry) {
+        this.windowSize = windowSize;
+        this.minCalls = minCalls;
+        this.failureRate = failureRate;
+        this.openDuration = openDuration;
+        this.halfOpenCalls = halfOpenCalls;
+        this.limiter = new ConcurrencyLimiter(initialLimit, minLimit, maxLimit, latencyThreshold, backoffRatio);
+        this.meterRegistry = meterRegistry;
+        meterRegistry.gauge("shareit.gateway.concurrency.limit", limiter, ConcurrencyLimiter::getLimit);
+        meterRegistry.gauge("shareit.gateway.concurrency.in.flight", limiter, ConcurrencyLimiter::getInFlight);
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        String endpoint = request.method() + " " + Endpoints.template(request.url().getPath());
+        CircuitBreaker breaker = breakers.computeIfAbsent(endpoint, this::newBreaker);
+        if (!breaker.tryAcquire()) {
+            return shed(endpoint, "circuit_open");
+        }
+        if (!limiter.tryAcquire()) {
+            breaker.release();
+            return shed(endpoint, "concurrency_limit");
+        }
+
+        long start = System.nanoTime();
+        AtomicBoolean done = new AtomicBoolean();
+        return next.exchange(request)
+                .doOnSuccess(response -> {
+                    if (!done.compareAndSet(false, true)) {
+                        return;
+                    }
+                    if (response == null) {
+                        breaker.release();
+                        limiter.onIgnore();
+                    } else if (response.rawStatusCode() >= 500) {
+                        breaker.onFailure();
+                        limiter.onFailure();
+                    } else {
+                        breaker.onSuccess();
+                        limiter.onSuccess(System.nanoTime() - start);
+                    }
+                })
+                .doOnError(e -> {
+                    if (done.compareAndSet(false, true)) {
+                        breaker.onFailure();
+                        limiter.onFailure();
+                    }
+                })
+                .doOnCancel(() -> {
+                    if (done.compareAndSet(false, true)) {
+                        breaker.release();
+                        limiter.onIgnore();
+                    }
+                });
+    }
+
+    private CircuitBreaker newBreaker(String endpoint) {
+        CircuitBreaker breaker = new CircuitBreaker(windowSize, minCalls, failureRate, openDuration, halfOpenCalls);
+        meterRegistry.gauge("shareit.gateway.circuit.open", Tags.of("endpoint", endpoint), breaker,
+                b -> b.getState() == CircuitBreaker.State.CLOSED ? 0 : 1);
+        return breaker;
+    }
+
+    private Mono<ClientResponse> shed(String endpoint, String reason) {
+        log.warn("Shedding {} request: {}", endpoint, reason);
+        meterRegistry.counter("shareit.gateway.shed", "endpoint", endpoint, "reason", reason).increment();
+        return Mono.error(new ServiceUnavailableException("Server is unavailable, try again later."));
+    }
+}
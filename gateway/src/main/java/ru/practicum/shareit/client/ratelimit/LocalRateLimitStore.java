@@ -0,0 +1,59 @@
+package ru.practicum.shareit.client.ratelimit;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+
+@Component
+public class LocalRateLimitStore implements RateLimitStore {
+    private final Cache<String, AtomicLong> buckets;
+    private final Ticker ticker;
+
+    @Autowired
+    public LocalRateLimitStore(RateLimitProperties properties) {
+        this(properties, Ticker.systemTicker());
+    }
+
+    LocalRateLimitStore(RateLimitProperties properties, Ticker ticker) {
+        this.ticker = ticker;
+        this.buckets = Caffeine.newBuilder()
+                .maximumSize(properties.getMaxBuckets())
+                .expireAfterAccess(drainTime(properties))
+                .ticker(ticker)
+                .build();
+    }
+
+    @Override
+    public long acquire(String key, long intervalNanos, int burst) {
+        long now = ticker.read();
+        AtomicLong theoreticalArrival = buckets.get(key, k -> new AtomicLong(now));
+        long tolerance = intervalNanos * burst;
+        while (true) {
+            long current = theoreticalArrival.get();
+            long next = Math.max(current, now) + intervalNanos;
+            long wait = next - now - tolerance;
+            if (wait > 0) {
+                return wait;
+            }
+            if (theoreticalArrival.compareAndSet(current, next)) {
+                return 0;
+            }
+        }
+    }
+
+    private static Duration drainTime(RateLimitProperties properties) {
+        int instances = Math.max(1, properties.getInstances());
+        return Stream.concat(Stream.of(properties.getDefaultQuota()), properties.getEndpoints().values().stream())
+                .map(quota -> quota.getPeriod().multipliedBy((long) instances * Math.max(1, quota.getBurst()))
+                        .dividedBy(quota.getPermits()))
+                .map(drain -> drain.compareTo(Duration.ofSeconds(1)) < 0 ? Duration.ofSeconds(1) : drain)
+                .max(Duration::compareTo)
+                .orElse(Duration.ofSeconds(1));
+    }
+}
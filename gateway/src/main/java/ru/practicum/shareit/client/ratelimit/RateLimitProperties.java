@@ -0,0 +1,31 @@
+package ru.practicum.shareit.client.ratelimit;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+@Data
+@Component
+@ConfigurationProperties(prefix = "shareit-gateway.rate-limit")
+public class RateLimitProperties {
+    private boolean enabled = true;
+    private int instances = 1;
+    private int maxBuckets = 100_000;
+    private Quota defaultQuota = new Quota(50, Duration.ofSeconds(1), 100);
+    private Map<String, Quota> endpoints = new HashMap<>();
+
+    @Data
+    @NoArgsConstructor
+    @AllArgsConstructor
+    public static class Quota {
+        private int permits;
+        private Duration period;
+        private int burst;
+    }
+}
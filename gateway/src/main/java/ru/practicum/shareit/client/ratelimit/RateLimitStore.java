@@ -0,0 +1,5 @@
+package ru.practicum.shareit.client.ratelimit;
+
+public interface RateLimitStore {
+    long acquire(String key, long intervalNanos, int burst);
+}
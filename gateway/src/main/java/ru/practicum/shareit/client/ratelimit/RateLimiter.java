@@ -0,0 +1,35 @@
+package ru.practicum.shareit.client.ratelimit;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.client.Endpoints;
+
+import java.util.concurrent.TimeUnit;
+
+@Component
+@RequiredArgsConstructor
+public class RateLimiter {
+    private final RateLimitProperties properties;
+    private final RateLimitStore store;
+    private final MeterRegistry meterRegistry;
+
+    public long acquire(@Nullable Long userId, String path) {
+        if (!properties.isEnabled() || userId == null) {
+            return 0;
+        }
+        String endpoint = Endpoints.template(path);
+        RateLimitProperties.Quota quota = properties.getEndpoints().getOrDefault(endpoint, properties.getDefaultQuota());
+        int instances = Math.max(1, properties.getInstances());
+        long intervalNanos = quota.getPeriod().toNanos() * instances / quota.getPermits();
+        int burst = Math.max(1, quota.getBurst() / instances);
+
+        long waitNanos = store.acquire(userId + "#" + endpoint, intervalNanos, burst);
+        if (waitNanos == 0) {
+            return 0;
+        }
+        meterRegistry.counter("shareit.gateway.rate.limited", "endpoint", endpoint).increment();
+        return Math.max(1, TimeUnit.NANOSECONDS.toSeconds(waitNanos + TimeUnit.SECONDS.toNanos(1) - 1));
+    }
+}
@@ -2,15 +2,19 @@ package ru.practicum.shareit.item;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.lang.Nullable;
 import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ResponseCache;
+import ru.practicum.shareit.client.ratelimit.RateLimiter;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 
+import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.Map;
 
@@ -19,16 +23,17 @@ public class ItemClient extends BaseClient {
     private static final String API_PREFIX = "/items";
 
     @Autowired
-    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
+    public ItemClient(@Value("${shareit-server.url}") String serverUrl, WebClient.Builder builder,
+                      ResponseCache responseCache, RateLimiter rateLimiter) {
         super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
+                new DefaultUriBuilderFactory(serverUrl + API_PREFIX),
+                builder.build(),
+                responseCache,
+                rateLimiter
         );
     }
 
-    public ResponseEntity<Object> getUserItems(long userId, int from, int size) {
+    public Mono<ResponseEntity<Object>> getUserItems(long userId, int from, int size) {
         Map<String, Object> parameters = Map.of(
                 "from", from,
                 "size", size
@@ -36,31 +41,82 @@ public class ItemClient extends BaseClient {
         return get("?from={from}&size={size}", userId, parameters);
     }
 
-    public ResponseEntity<Object> getById(long userId, long itemId) {
+    public Mono<ResponseEntity<Object>> getById(long userId, long itemId) {
         return get("/" + userId, itemId);
     }
 
-    public ResponseEntity<Object> add(long userId, ItemDto itemDto) {
+    public Mono<ResponseEntity<Object>> add(long userId, ItemDto itemDto) {
         return post("", userId, itemDto);
     }
 
-    public ResponseEntity<Object> update(long itemId, long userId, ItemDto itemDto) {
+    public Mono<ResponseEntity<Object>> update(long itemId, long userId, ItemDto itemDto) {
         return patch("/" + itemId, userId, itemDto);
     }
 
-    public ResponseEntity<Object> search(String text, long userId, int from, int size) {
+    public Mono<ResponseEntity<Object>> search(String text, long userId, int from, int size) {
         if (text.isBlank()) {
-            return ResponseEntity.ok(Collections.emptyList());
+            return Mono.just(ResponseEntity.ok(Collections.emptyList()));
         }
         Map<String, Object> parameters = Map.of(
                 "text", text,
                 "from", from,
                 "size", size
         );
-        return get("/search?text={text}&from={from}&size={size}", userId, parameters);
+        return getShared("/search?text={text}&from={from}&size={size}", userId, parameters);
     }
 
-    public ResponseEntity<Object> addComment(long userId, long itemId, CommentDto commentDto) {
+    public Mono<ResponseEntity<Object>> searchAvailable(String text, long userId, LocalDateTime start,
+                                                        LocalDateTime end, int from, int size) {
+        Map<String, Object> parameters = Map.of(
+                "text", text,
+                "start", start,
+                "end", end,
+                "from", from,
+                "size", size
+        );
+        return getShared("/search?text={text}&start={start}&end={end}&from={from}&size={size}", userId, parameters);
+    }
+
+    public Mono<ResponseEntity<Object>> getUserItemsAfter(long userId, String cursor, int size) {
+        Map<String, Object> parameters = Map.of(
+                "cursor", cursor,
+                "size", size
+        );
+        return get("?cursor={cursor}&size={size}", userId, parameters);
+    }
+
+    public Mono<ResponseEntity<Object>> searchAfter(String text, long userId, String cursor, int size) {
+        if (text.isBlank()) {
+            return Mono.just(ResponseEntity.ok(Collections.emptyList()));
+        }
+        Map<String, Object> parameters = Map.of(
+                "text", text,
+                "cursor", cursor,
+                "size", size
+        );
+        return getShared("/search?text={text}&cursor={cursor}&size={size}", userId, parameters);
+    }
+
+    public Mono<ResponseEntity<Object>> getComments(long itemId, long userId, @Nullable String cursor, int size) {
+        if (cursor == null) {
+            return getShared("/" + itemId + "/comments?size={size}", userId, Map.of("size", size));
+        }
+        Map<String, Object> parameters = Map.of(
+                "cursor", cursor,
+                "size", size
+        );
+        return getShared("/" + itemId + "/comments?cursor={cursor}&size={size}", userId, parameters);
+    }
+
+    public Mono<ResponseEntity<Object>> getAvailability(long itemId, long userId, LocalDateTime from, LocalDateTime to) {
+        Map<String, Object> parameters = Map.of(
+                "from", from,
+                "to", to
+        );
+        return getShared("/" + itemId + "/availability?from={from}&to={to}", userId, parameters);
+    }
+
+    public Mono<ResponseEntity<Object>> addComment(long userId, long itemId, CommentDto commentDto) {
         return post("/" + userId + "/comment", itemId, commentDto);
     }
 }
@@ -2,16 +2,20 @@ package ru.practicum.shareit.item.controller;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.item.ItemClient;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.util.Marker;
+import ru.practicum.shareit.util.exception.BadRequestException;
 
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
+import java.time.LocalDateTime;
 
 
 @RestController
@@ -22,51 +26,116 @@ import javax.validation.constraints.PositiveOrZero;
 public class ItemController {
     private final ItemClient itemClient;
     private static final String HEADER = "X-Sharer-User-Id";
+    private static final int MAX_AVAILABILITY_DAYS = 366;
 
     @PostMapping
-    public ResponseEntity<Object> add(@RequestHeader(HEADER) Long userId,
-                                      @Validated({Marker.OnCreate.class}) @RequestBody ItemDto itemDto) {
+    public Mono<ResponseEntity<Object>> add(@RequestHeader(HEADER) Long userId,
+                                            @Validated({Marker.OnCreate.class}) @RequestBody ItemDto itemDto) {
         log.info("New request for item creation from userId={}", userId);
         return itemClient.add(userId, itemDto);
     }
 
     @PatchMapping("/{itemId}")
-    public ResponseEntity<Object> update(@PathVariable Long itemId, @RequestHeader(HEADER) Long userId,
-                                         @Validated({Marker.OnUpdate.class}) @RequestBody ItemDto itemDto) {
+    public Mono<ResponseEntity<Object>> update(@PathVariable Long itemId, @RequestHeader(HEADER) Long userId,
+                                               @Validated({Marker.OnUpdate.class}) @RequestBody ItemDto itemDto) {
         log.info("New request for item update from userId={}", userId);
         return itemClient.update(itemId, userId, itemDto);
     }
 
     @GetMapping("/{itemId}")
-    public ResponseEntity<Object> get(@PathVariable Long itemId, @RequestHeader(HEADER) Long userId) {
+    public Mono<ResponseEntity<Object>> get(@PathVariable Long itemId, @RequestHeader(HEADER) Long userId) {
         log.info("New request for item search with id={}", itemId);
         return itemClient.getById(itemId, userId);
     }
 
     @GetMapping
-    public ResponseEntity<Object> getUserItems(@RequestHeader(HEADER) Long userId,
-                                               @RequestParam(defaultValue = "0")
-                                               @PositiveOrZero int from,
-                                               @RequestParam(defaultValue = "10")
-                                               @Positive int size) {
+    public Mono<ResponseEntity<Object>> getUserItems(@RequestHeader(HEADER) Long userId,
+                                                     @RequestParam(defaultValue = "0")
+                                                     @PositiveOrZero int from,
+                                                     @RequestParam(defaultValue = "10")
+                                                     @Positive int size) {
         log.info("New request for user items with userId={}", userId);
         return itemClient.getUserItems(userId, from, size);
     }
 
     @GetMapping("/search")
-    public ResponseEntity<Object> searchItem(@RequestHeader(HEADER) Long userId, @RequestParam String text,
-                                             @RequestParam(defaultValue = "0")
-                                             @PositiveOrZero int from,
-                                             @Positive @RequestParam(defaultValue = "10")
-                                             int size) {
+    public Mono<ResponseEntity<Object>> searchItem(@RequestHeader(HEADER) Long userId, @RequestParam String text,
+                                                   @RequestParam(defaultValue = "0")
+                                                   @PositiveOrZero int from,
+                                                   @Positive @RequestParam(defaultValue = "10")
+                                                   int size) {
         log.info("New request for searching item by text={}", text);
         return itemClient.search(text, userId, from, size);
     }
 
+    @GetMapping(path = "/search", params = {"start", "end"})
+    public Mono<ResponseEntity<Object>> searchAvailableItem(@RequestHeader(HEADER) Long userId,
+                                                            @RequestParam String text,
+                                                            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                            LocalDateTime start,
+                                                            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                            LocalDateTime end,
+                                                            @RequestParam(defaultValue = "0")
+                                                            @PositiveOrZero int from,
+                                                            @Positive @RequestParam(defaultValue = "10")
+                                                            int size) {
+        log.info("New request for searching item by text={} available from {} to {}", text, start, end);
+        if (!start.isBefore(end)) {
+            throw new BadRequestException("End date cant be before start date.");
+        }
+        return itemClient.searchAvailable(text, userId, start, end, from, size);
+    }
+
+    @GetMapping(params = "cursor")
+    public Mono<ResponseEntity<Object>> getUserItemsAfter(@RequestHeader(HEADER) Long userId,
+                                                          @RequestParam String cursor,
+                                                          @RequestParam(defaultValue = "10")
+                                                          @Positive int size) {
+        log.info("New request for user items page with userId={}", userId);
+        return itemClient.getUserItemsAfter(userId, cursor, size);
+    }
+
+    @GetMapping(path = "/search", params = "cursor")
+    public Mono<ResponseEntity<Object>> searchItemAfter(@RequestHeader(HEADER) Long userId, @RequestParam String text,
+                                                        @RequestParam String cursor,
+                                                        @Positive @RequestParam(defaultValue = "10")
+                                                        int size) {
+        log.info("New request for searching item page by text={}", text);
+        return itemClient.searchAfter(text, userId, cursor, size);
+    }
+
+    @GetMapping("/{itemId}/comments")
+    public Mono<ResponseEntity<Object>> getComments(@PathVariable Long itemId,
+                                                    @RequestHeader(HEADER) Long userId,
+                                                    @RequestParam(required = false) String cursor,
+                                                    @RequestParam(defaultValue = "10")
+                                                    @Positive int size) {
+        log.info("New request for comments page of item {}", itemId);
+        return itemClient.getComments(itemId, userId, cursor, size);
+    }
+
+    @GetMapping("/{itemId}/availability")
+    public Mono<ResponseEntity<Object>> getAvailability(@PathVariable Long itemId,
+                                                        @RequestHeader(HEADER) Long userId,
+                                                        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                        LocalDateTime from,
+                                                        @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                        LocalDateTime to) {
+        log.info("New request for availability of item {}", itemId);
+        if (!from.isBefore(to)) {
+            throw new BadRequestException("Availability end must be after its start.");
+        }
+        if (from.plusDays(MAX_AVAILABILITY_DAYS).isBefore(to)) {
+            throw new BadRequestException(String.format("Availability can be requested for at most %d days.",
+                    MAX_AVAILABILITY_DAYS));
+        }
+        return itemClient.getAvailability(itemId, userId, from, to);
+    }
+
     @PostMapping("/{itemId}/comment")
-    public ResponseEntity<Object> addComment(@PathVariable Long itemId,
-                                             @RequestHeader(HEADER) Long userId,
-                                             @Validated(Marker.OnCreate.class) @RequestBody CommentDto commentDto) {
+    public Mono<ResponseEntity<Object>> addComment(@PathVariable Long itemId,
+                                                   @RequestHeader(HEADER) Long userId,
+                                                   @Validated(Marker.OnCreate.class) @RequestBody CommentDto commentDto) {
         log.info("New request to create comment for item {}", itemId);
         return itemClient.addComment(itemId, userId, commentDto);
     }
@@ -5,6 +5,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.user.UserClient;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.util.Marker;
@@ -18,32 +19,32 @@ public class UserController {
     private final UserClient userClient;
 
     @PostMapping
-    public ResponseEntity<Object> add(@Validated({Marker.OnCreate.class}) @RequestBody UserDto userDto) {
+    public Mono<ResponseEntity<Object>> add(@Validated({Marker.OnCreate.class}) @RequestBody UserDto userDto) {
         log.info("New request to create user.");
         return userClient.add(userDto);
     }
 
     @PatchMapping("/{userId}")
-    public ResponseEntity<Object> update(@PathVariable Long userId, @Validated({Marker.OnUpdate.class}) @RequestBody UserDto userDto) {
+    public Mono<ResponseEntity<Object>> update(@PathVariable Long userId, @Validated({Marker.OnUpdate.class}) @RequestBody UserDto userDto) {
         log.info("New request to update user.");
         return userClient.update(userId, userDto);
     }
 
     @GetMapping("/{userId}")
-    public ResponseEntity<Object> get(@PathVariable Long userId) {
+    public Mono<ResponseEntity<Object>> get(@PathVariable Long userId) {
         log.info("New request to get user with id {}", userId);
         return userClient.getById(userId);
     }
 
     @GetMapping
-    public ResponseEntity<Object> getAll() {
+    public Mono<ResponseEntity<Object>> getAll() {
         log.info("New request to get list of all users.");
         return userClient.getAll();
     }
 
     @DeleteMapping("/{userId}")
-    public void delete(@PathVariable Long userId) {
+    public Mono<Void> delete(@PathVariable Long userId) {
         log.info("New request to delete user with id {}", userId);
-        userClient.delete(userId);
+        return userClient.delete(userId).then();
     }
 }
@@ -0,0 +1,132 @@
+package ru.practicum.shareit.client;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static ru.practicum.shareit.client.CircuitBreaker.State.CLOSED;
+import static ru.practicum.shareit.client.CircuitBreaker.State.HALF_OPEN;
+import static ru.practicum.shareit.client.CircuitBreaker.State.OPEN;
+
+class CircuitBreakerTest {
+    private static final Duration OPEN_DURATION = Duration.ofSeconds(10);
+
+    private final AtomicLong time = new AtomicLong();
+
+    @Test
+    void staysClosedBelowMinCallsTest() {
+        CircuitBreaker breaker = breaker(10, 4, 1);
+        for (int i = 0; i < 3; i++) {
+            assertTrue(breaker.tryAcquire());
+            breaker.onFailure();
+        }
+        assertEquals(CLOSED, breaker.getState());
+        assertTrue(breaker.tryAcquire());
+    }
+
+    @Test
+    void opensAtFailureRateTest() {
+        CircuitBreaker breaker = breaker(10, 4, 1);
+        breaker.onSuccess();
+        breaker.onSuccess();
+        breaker.onFailure();
+        assertEquals(CLOSED, breaker.getState());
+        breaker.onFailure();
+        assertEquals(OPEN, breaker.getState());
+        assertFalse(breaker.tryAcquire());
+    }
+
+    @Test
+    void oldOutcomesLeaveTheWindowTest() {
+        CircuitBreaker breaker = new CircuitBreaker(4, 4, 0.75, OPEN_DURATION, 1, time::get);
+        breaker.onFailure();
+        breaker.onSuccess();
+        breaker.onSuccess();
+        breaker.onSuccess();
+        breaker.onFailure();
+        breaker.onFailure();
+        assertEquals(CLOSED, breaker.getState());
+        breaker.onFailure();
+        assertEquals(OPEN, breaker.getState());
+    }
+
+    @Test
+    void halfOpensAfterOpenDurationTest() {
+        CircuitBreaker breaker = openBreaker(1);
+        time.addAndGet(OPEN_DURATION.toNanos() - 1);
+        assertFalse(breaker.tryAcquire());
+        assertEquals(OPEN, breaker.getState());
+        time.addAndGet(1);
+        assertTrue(breaker.tryAcquire());
+        assertEquals(HALF_OPEN, breaker.getState());
+    }
+
+    @Test
+    void onlyConfiguredProbesPassWhileHalfOpenTest() {
+        CircuitBreaker single = openBreaker(1);
+        time.addAndGet(OPEN_DURATION.toNanos());
+        assertTrue(single.tryAcquire());
+        assertFalse(single.tryAcquire());
+        assertFalse(single.tryAcquire());
+
+        CircuitBreaker triple = openBreaker(3);
+        time.addAndGet(OPEN_DURATION.toNanos());
+        assertTrue(triple.tryAcquire());
+        assertTrue(triple.tryAcquire());
+        assertTrue(triple.tryAcquire());
+        assertFalse(triple.tryAcquire());
+    }
+
+    @Test
+    void releasedProbeFreesItsSlotTest() {
+        CircuitBreaker breaker = openBreaker(1);
+        time.addAndGet(OPEN_DURATION.toNanos());
+        assertTrue(breaker.tryAcquire());
+        breaker.release();
+        assertTrue(breaker.tryAcquire());
+        assertFalse(breaker.tryAcquire());
+    }
+
+    @Test
+    void successfulProbeClosesWithFreshWindowTest() {
+        CircuitBreaker breaker = openBreaker(1);
+        time.addAndGet(OPEN_DURATION.toNanos());
+        assertTrue(breaker.tryAcquire());
+        breaker.onSuccess();
+        assertEquals(CLOSED, breaker.getState());
+
+        breaker.onFailure();
+        assertEquals(CLOSED, breaker.getState());
+        assertTrue(breaker.tryAcquire());
+    }
+
+    @Test
+    void failedProbeReopensAndRestartsTimerTest() {
+        CircuitBreaker breaker = openBreaker(1);
+        time.addAndGet(OPEN_DURATION.toNanos());
+        assertTrue(breaker.tryAcquire());
+        breaker.onFailure();
+        assertEquals(OPEN, breaker.getState());
+
+        time.addAndGet(OPEN_DURATION.toNanos() - 1);
+        assertFalse(breaker.tryAcquire());
+        time.addAndGet(1);
+        assertTrue(breaker.tryAcquire());
+    }
+
+    private CircuitBreaker breaker(int windowSize, int minCalls, int halfOpenCalls) {
+        return new CircuitBreaker(windowSize, minCalls, 0.5, OPEN_DURATION, halfOpenCalls, time::get);
+    }
+
+    private CircuitBreaker openBreaker(int halfOpenCalls) {
+        CircuitBreaker breaker = breaker(2, 2, halfOpenCalls);
+        breaker.onFailure();
+        breaker.onFailure();
+        assertEquals(OPEN, breaker.getState());
+        return breaker;
+    }
+}
@@ -0,0 +1,90 @@
+package ru.practicum.shareit.client;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ConcurrencyLimiterTest {
+    private static final Duration THRESHOLD = Duration.ofMillis(100);
+    private static final long FAST = Duration.ofMillis(10).toNanos();
+    private static final long SLOW = Duration.ofMillis(200).toNanos();
+
+    @Test
+    void rejectsAboveLimitUntilPermitReturnsTest() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(2, 1, 10, THRESHOLD, 0.5);
+        assertTrue(limiter.tryAcquire());
+        assertTrue(limiter.tryAcquire());
+        assertFalse(limiter.tryAcquire());
+        limiter.onIgnore();
+        assertEquals(1, limiter.getInFlight());
+        assertTrue(limiter.tryAcquire());
+    }
+
+    @Test
+    void everyOutcomeReturnsItsPermitTest() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(10, 1, 10, THRESHOLD, 0.5);
+        for (int i = 0; i < 4; i++) {
+            limiter.tryAcquire();
+        }
+        limiter.onSuccess(FAST);
+        limiter.onSuccess(SLOW);
+        limiter.onFailure();
+        limiter.onIgnore();
+        assertEquals(0, limiter.getInFlight());
+    }
+
+    @Test
+    void increasesAdditivelyWhenSaturatedTest() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(10, 1, 100, THRESHOLD, 0.5);
+        for (int i = 0; i < 10; i++) {
+            limiter.tryAcquire();
+        }
+        for (int i = 0; i < 11; i++) {
+            limiter.onSuccess(FAST);
+            assertTrue(limiter.tryAcquire());
+        }
+        assertEquals(11, limiter.getLimit());
+    }
+
+    @Test
+    void doesNotIncreaseWhenUnderusedTest() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(10, 1, 100, THRESHOLD, 0.5);
+        for (int i = 0; i < 100; i++) {
+            limiter.tryAcquire();
+            limiter.onSuccess(FAST);
+        }
+        assertEquals(10, limiter.getLimit());
+    }
+
+    @Test
+    void increaseIsBoundedByMaxLimitTest() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(10, 1, 10, THRESHOLD, 0.5);
+        for (int i = 0; i < 10; i++) {
+            limiter.tryAcquire();
+        }
+        for (int i = 0; i < 100; i++) {
+            limiter.onSuccess(FAST);
+            limiter.tryAcquire();
+        }
+        assertEquals(10, limiter.getLimit());
+        assertFalse(limiter.tryAcquire());
+    }
+
+    @Test
+    void decreasesMultiplicativelyDownToMinLimitTest() {
+        ConcurrencyLimiter limiter = new ConcurrencyLimiter(100, 20, 100, THRESHOLD, 0.5);
+        limiter.tryAcquire();
+        limiter.onFailure();
+        assertEquals(50, limiter.getLimit());
+        limiter.tryAcquire();
+        limiter.onSuccess(SLOW);
+        assertEquals(25, limiter.getLimit());
+        limiter.tryAcquire();
+        limiter.onFailure();
+        assertEquals(20, limiter.getLimit());
+    }
+}
@@ -0,0 +1,76 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import ru.practicum.shareit.client.ratelimit.LocalRateLimitStore;
+import ru.practicum.shareit.client.ratelimit.RateLimitProperties;
+import ru.practicum.shareit.client.ratelimit.RateLimiter;
+import ru.practicum.shareit.item.ItemClient;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RequestCoalescingTest {
+    private static final int USERS = 50;
+
+    private final AtomicInteger upstreamCalls = new AtomicInteger();
+    private final Sinks.One<ClientResponse> upstream = Sinks.one();
+    private ItemClient itemClient;
+
+    @BeforeEach
+    void setUp() {
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+        RateLimitProperties rateLimitProperties = new RateLimitProperties();
+        rateLimitProperties.setEnabled(false);
+        WebClient.Builder builder = WebClient.builder().exchangeFunction(request -> {
+            upstreamCalls.incrementAndGet();
+            return upstream.asMono();
+        });
+        itemClient = new ItemClient("http://server", builder,
+                new ResponseCache(Duration.ofSeconds(5), 100, meterRegistry),
+                new RateLimiter(rateLimitProperties, new LocalRateLimitStore(rateLimitProperties), meterRegistry));
+    }
+
+    @Test
+    void sharedSearchIsCoalescedAcrossUsersTest() {
+        Mono<List<ResponseEntity<Object>>> responses = Flux.range(1, USERS)
+                .flatMap(userId -> itemClient.search("drill", userId, 0, 10))
+                .collectList()
+                .cache();
+        responses.subscribe();
+
+        upstream.tryEmitValue(ClientResponse.create(HttpStatus.OK)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .header(HttpHeaders.ETAG, "\"1\"")
+                .body("[]")
+                .build());
+
+        List<ResponseEntity<Object>> result = responses.block(Duration.ofSeconds(5));
+        assertEquals(1, upstreamCalls.get());
+        assertEquals(USERS, result.size());
+        assertTrue(result.stream().allMatch(response -> response.getStatusCode() == HttpStatus.OK));
+    }
+
+    @Test
+    void userScopedRequestsAreNotSharedTest() {
+        Flux.range(1, 2)
+                .flatMap(userId -> itemClient.getUserItems(userId, 0, 10))
+                .subscribe();
+
+        assertEquals(2, upstreamCalls.get());
+    }
+}
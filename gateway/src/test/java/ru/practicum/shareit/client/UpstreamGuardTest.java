@@ -0,0 +1,87 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.util.exception.ServiceUnavailableException;
+
+import java.io.IOException;
+import java.net.URI;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class UpstreamGuardTest {
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final UpstreamGuard guard = new UpstreamGuard(4, 2, 0.5, Duration.ofMinutes(1), 1,
+            2, 1, 10, Duration.ofMinutes(1), 0.5, meterRegistry);
+    private final ClientRequest request = ClientRequest.create(HttpMethod.GET, URI.create("http://server/items/1"))
+            .build();
+
+    @Test
+    void releasesPermitOnErrorTest() {
+        assertThrows(RuntimeException.class,
+                () -> guard.filter(request, r -> Mono.error(new IOException("reset"))).block());
+        assertEquals(0, inFlight());
+    }
+
+    @Test
+    void releasesPermitOnCancelTest() {
+        Disposable call = guard.filter(request, r -> Mono.never()).subscribe();
+        assertEquals(1, inFlight());
+        call.dispose();
+        assertEquals(0, inFlight());
+    }
+
+    @Test
+    void releasesPermitOnEmptyResponseTest() {
+        assertNull(guard.filter(request, r -> Mono.empty()).block());
+        assertEquals(0, inFlight());
+    }
+
+    @Test
+    void shedsAboveConcurrencyLimitTest() {
+        Disposable first = guard.filter(request, r -> Mono.never()).subscribe();
+        Disposable second = guard.filter(request, r -> Mono.never()).subscribe();
+        assertThrows(ServiceUnavailableException.class, () -> guard.filter(request, r -> Mono.never()).block());
+        assertEquals(1, meterRegistry.counter("shareit.gateway.shed",
+                "endpoint", "GET /items/{id}", "reason", "concurrency_limit").count());
+        first.dispose();
+        second.dispose();
+        assertEquals(0, inFlight());
+    }
+
+    @Test
+    void serverErrorsOpenTheEndpointBreakerTest() {
+        AtomicInteger calls = new AtomicInteger();
+        ExchangeFunction failing = r -> {
+            calls.incrementAndGet();
+            return Mono.just(ClientResponse.create(HttpStatus.INTERNAL_SERVER_ERROR).build());
+        };
+        guard.filter(request, failing).block();
+        guard.filter(request, failing).block();
+
+        assertThrows(ServiceUnavailableException.class, () -> guard.filter(request, failing).block());
+        assertEquals(2, calls.get());
+        assertEquals(0, inFlight());
+        assertEquals(1, meterRegistry.get("shareit.gateway.circuit.open").tag("endpoint", "GET /items/{id}")
+                .gauge().value());
+
+        ClientRequest other = ClientRequest.create(HttpMethod.GET, URI.create("http://server/bookings")).build();
+        assertEquals(HttpStatus.OK, guard.filter(other, r -> Mono.just(ClientResponse.create(HttpStatus.OK).build()))
+                .block().statusCode());
+    }
+
+    private double inFlight() {
+        return meterRegistry.get("shareit.gateway.concurrency.in.flight").gauge().value();
+    }
+}
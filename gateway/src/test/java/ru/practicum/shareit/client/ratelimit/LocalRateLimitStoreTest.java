@@ -0,0 +1,64 @@
+package ru.practicum.shareit.client.ratelimit;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class LocalRateLimitStoreTest {
+    private static final long INTERVAL = TimeUnit.MILLISECONDS.toNanos(500);
+    private static final int BURST = 3;
+
+    private final AtomicLong time = new AtomicLong(TimeUnit.SECONDS.toNanos(100));
+    private final LocalRateLimitStore store = new LocalRateLimitStore(new RateLimitProperties(), time::get);
+
+    @Test
+    void burstIsAllowedThenRejectedTest() {
+        for (int i = 0; i < BURST; i++) {
+            assertEquals(0, store.acquire("key", INTERVAL, BURST));
+        }
+        assertEquals(INTERVAL, store.acquire("key", INTERVAL, BURST));
+    }
+
+    @Test
+    void rejectedCallDoesNotConsumeQuotaTest() {
+        for (int i = 0; i < BURST; i++) {
+            store.acquire("key", INTERVAL, BURST);
+        }
+        assertEquals(INTERVAL, store.acquire("key", INTERVAL, BURST));
+        assertEquals(INTERVAL, store.acquire("key", INTERVAL, BURST));
+    }
+
+    @Test
+    void recoversOnePermitPerIntervalTest() {
+        for (int i = 0; i < BURST; i++) {
+            store.acquire("key", INTERVAL, BURST);
+        }
+        time.addAndGet(INTERVAL - 1);
+        assertEquals(1, store.acquire("key", INTERVAL, BURST));
+        time.addAndGet(1);
+        assertEquals(0, store.acquire("key", INTERVAL, BURST));
+        assertEquals(INTERVAL, store.acquire("key", INTERVAL, BURST));
+    }
+
+    @Test
+    void idleBucketRefillsToFullBurstOnlyTest() {
+        store.acquire("key", INTERVAL, BURST);
+        time.addAndGet(INTERVAL * 100);
+        for (int i = 0; i < BURST; i++) {
+            assertEquals(0, store.acquire("key", INTERVAL, BURST));
+        }
+        assertEquals(INTERVAL, store.acquire("key", INTERVAL, BURST));
+    }
+
+    @Test
+    void keysAreIsolatedTest() {
+        for (int i = 0; i < BURST; i++) {
+            store.acquire("first", INTERVAL, BURST);
+        }
+        assertEquals(INTERVAL, store.acquire("first", INTERVAL, BURST));
+        assertEquals(0, store.acquire("second", INTERVAL, BURST));
+    }
+}
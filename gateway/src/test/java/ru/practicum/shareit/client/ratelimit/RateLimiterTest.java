@@ -0,0 +1,101 @@
+package ru.practicum.shareit.client.ratelimit;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import ru.practicum.shareit.client.ResponseCache;
+import ru.practicum.shareit.item.ItemClient;
+import ru.practicum.shareit.util.ErrorHandler;
+import ru.practicum.shareit.util.ErrorResponse;
+import ru.practicum.shareit.util.exception.TooManyRequestsException;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class RateLimiterTest {
+    private final AtomicLong time = new AtomicLong(TimeUnit.SECONDS.toNanos(100));
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private RateLimitProperties properties;
+    private RateLimiter rateLimiter;
+
+    @BeforeEach
+    void setUp() {
+        properties = new RateLimitProperties();
+        properties.setDefaultQuota(new RateLimitProperties.Quota(2, Duration.ofSeconds(1), 2));
+        properties.setEndpoints(Map.of("/items/search", new RateLimitProperties.Quota(1, Duration.ofSeconds(10), 1)));
+        rateLimiter = new RateLimiter(properties, new LocalRateLimitStore(properties, time::get), meterRegistry);
+    }
+
+    @Test
+    void burstThenRetryAfterTest() {
+        assertEquals(0, rateLimiter.acquire(1L, "/bookings"));
+        assertEquals(0, rateLimiter.acquire(1L, "/bookings"));
+        assertEquals(1, rateLimiter.acquire(1L, "/bookings"));
+        assertEquals(1, meterRegistry.counter("shareit.gateway.rate.limited", "endpoint", "/bookings").count());
+
+        time.addAndGet(TimeUnit.MILLISECONDS.toNanos(500));
+        assertEquals(0, rateLimiter.acquire(1L, "/bookings"));
+    }
+
+    @Test
+    void retryAfterIsRoundedUpToSecondsTest() {
+        assertEquals(0, rateLimiter.acquire(1L, "/items/search"));
+        assertEquals(10, rateLimiter.acquire(1L, "/items/search"));
+        time.addAndGet(TimeUnit.MILLISECONDS.toNanos(9500));
+        assertEquals(1, rateLimiter.acquire(1L, "/items/search"));
+    }
+
+    @Test
+    void usersAndEndpointsAreIsolatedTest() {
+        rateLimiter.acquire(1L, "/items/5");
+        rateLimiter.acquire(1L, "/items/6");
+        assertEquals(1, rateLimiter.acquire(1L, "/items/7"));
+        assertEquals(0, rateLimiter.acquire(2L, "/items/7"));
+        assertEquals(0, rateLimiter.acquire(1L, "/bookings"));
+    }
+
+    @Test
+    void instancesShareTheQuotaTest() {
+        properties.setInstances(2);
+        assertEquals(0, rateLimiter.acquire(1L, "/bookings"));
+        assertEquals(1, rateLimiter.acquire(1L, "/bookings"));
+    }
+
+    @Test
+    void anonymousAndDisabledAreNotLimitedTest() {
+        for (int i = 0; i < 10; i++) {
+            assertEquals(0, rateLimiter.acquire(null, "/users"));
+        }
+        properties.setEnabled(false);
+        for (int i = 0; i < 10; i++) {
+            assertEquals(0, rateLimiter.acquire(1L, "/bookings"));
+        }
+    }
+
+    @Test
+    void limitedRequestIsMappedToTooManyRequestsTest() {
+        WebClient.Builder builder = WebClient.builder()
+                .exchangeFunction(request -> Mono.error(new AssertionError("Limited request reached upstream")));
+        ItemClient itemClient = new ItemClient("http://server", builder,
+                new ResponseCache(Duration.ofSeconds(5), 100, meterRegistry), rateLimiter);
+        rateLimiter.acquire(1L, "/items/search");
+
+        TooManyRequestsException e = assertThrows(TooManyRequestsException.class,
+                () -> itemClient.search("drill", 1L, 0, 10).block());
+        assertEquals(10, e.getRetryAfterSeconds());
+
+        ResponseEntity<ErrorResponse> response = new ErrorHandler().handleTooManyRequestsException(e);
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, response.getStatusCode());
+        assertEquals("10", response.getHeaders().getFirst(HttpHeaders.RETRY_AFTER));
+    }
+}
@@ -2,13 +2,17 @@ package ru.practicum.shareit.booking.controller;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingDtoOut;
 import ru.practicum.shareit.booking.service.BookingService;
 import ru.practicum.shareit.util.Status;
+import ru.practicum.shareit.util.metrics.QueryBudget;
 
 import java.util.Collection;
+import java.util.List;
 
 
 @RestController
@@ -26,6 +30,14 @@ public class BookingController {
         return bookingService.add(bookingDto, userId);
     }
 
+    @PostMapping("/batch")
+    @QueryBudget(3)
+    public List<BookingBatchResultDto> addAll(@RequestBody List<BookingDto> bookingDtos,
+                                              @RequestHeader(HEADER) Long userId) {
+        log.info("New POST request /bookings/batch with {} bookings", bookingDtos.size());
+        return bookingService.addAll(bookingDtos, userId);
+    }
+
     @PatchMapping("/{bookingId}")
     public BookingDtoOut approve(@PathVariable Long bookingId, @RequestParam(name = "approved") Boolean approved,
                                  @RequestHeader(HEADER) Long userId) {
@@ -34,12 +46,14 @@ public class BookingController {
     }
 
     @GetMapping("/{bookingId}")
+    @QueryBudget(4)
     public BookingDtoOut getBookingById(@PathVariable Long bookingId, @RequestHeader(HEADER) Long userId) {
         log.info("New GET request /bookings/{}", bookingId);
         return bookingService.getById(bookingId, userId);
     }
 
     @GetMapping
+    @QueryBudget(2)
     public Collection<BookingDtoOut> getAllByUser(@RequestParam(name = "state", defaultValue = "ALL") Status state,
                                                   @RequestHeader(HEADER) Long bookerId,
                                                   @RequestParam(defaultValue = "0") int from,
@@ -49,6 +63,7 @@ public class BookingController {
     }
 
     @GetMapping("/owner")
+    @QueryBudget(2)
     public Collection<BookingDtoOut> getAllByOwner(@RequestParam(name = "state", defaultValue = "ALL") Status state,
                                                    @RequestHeader(HEADER) Long ownerId,
                                                    @RequestParam(defaultValue = "0") int from,
@@ -56,4 +71,24 @@ public class BookingController {
         log.info("New GET request /bookings/owner?state= , ownerId = {}", ownerId);
         return bookingService.getAllByOwner(ownerId, state, from, size);
     }
+
+    @GetMapping(params = "cursor")
+    @QueryBudget(2)
+    public ResponseEntity<List<BookingDtoOut>> getAllByUserAfter(@RequestParam(name = "state", defaultValue = "ALL") Status state,
+                                                                 @RequestHeader(HEADER) Long bookerId,
+                                                                 @RequestParam String cursor,
+                                                                 @RequestParam(defaultValue = "10") int size) {
+        log.info("New GET request for bookings page for user {}", bookerId);
+        return bookingService.getAllByUserAfter(bookerId, state, cursor, size).toResponseEntity();
+    }
+
+    @GetMapping(path = "/owner", params = "cursor")
+    @QueryBudget(2)
+    public ResponseEntity<List<BookingDtoOut>> getAllByOwnerAfter(@RequestParam(name = "state", defaultValue = "ALL") Status state,
+                                                                  @RequestHeader(HEADER) Long ownerId,
+                                                                  @RequestParam String cursor,
+                                                                  @RequestParam(defaultValue = "10") int size) {
+        log.info("New GET request for bookings page for owner {}", ownerId);
+        return bookingService.getAllByOwnerAfter(ownerId, state, cursor, size).toResponseEntity();
+    }
 }
@@ -0,0 +1,58 @@
+package ru.practicum.shareit.booking.dao;
+
+import lombok.Builder;
+import lombok.Getter;
+import ru.practicum.shareit.util.Status;
+import ru.practicum.shareit.util.exception.BadRequestException;
+
+import java.time.LocalDateTime;
+import java.util.EnumSet;
+import java.util.Set;
+
+@Getter
+@Builder(toBuilder = true)
+public class BookingPageFilter {
+    static final LocalDateTime MIN_DATE = LocalDateTime.of(1970, 1, 1, 0, 0);
+    static final LocalDateTime MAX_DATE = LocalDateTime.of(9999, 12, 31, 23, 59);
+
+    @Builder.Default
+    private Set<Status> statuses = EnumSet.allOf(Status.class);
+    @Builder.Default
+    private LocalDateTime startAfter = MIN_DATE;
+    @Builder.Default
+    private LocalDateTime startBefore = MAX_DATE;
+    @Builder.Default
+    private LocalDateTime startNotAfter = MAX_DATE;
+    @Builder.Default
+    private LocalDateTime endAfter = MIN_DATE;
+    @Builder.Default
+    private LocalDateTime endNotBefore = MIN_DATE;
+    @Builder.Default
+    private LocalDateTime endBefore = MAX_DATE;
+    @Builder.Default
+    private LocalDateTime cursorStart = MAX_DATE;
+    @Builder.Default
+    private Long cursorId = Long.MAX_VALUE;
+
+    public static BookingPageFilter of(Status state, LocalDateTime now) {
+        switch (state) {
+            case ALL:
+                return BookingPageFilter.builder().build();
+            case CURRENT:
+                return BookingPageFilter.builder().startNotAfter(now).endNotBefore(now).build();
+            case PAST:
+                return BookingPageFilter.builder().endBefore(now).build();
+            case FUTURE:
+                return BookingPageFilter.builder().startAfter(now).build();
+            case WAITING:
+            case REJECTED:
+                return BookingPageFilter.builder().statuses(EnumSet.of(state)).build();
+            default:
+                throw new BadRequestException("Unknown state: UNSUPPORTED_STATUS");
+        }
+    }
+
+    public BookingPageFilter after(LocalDateTime start, Long id) {
+        return toBuilder().cursorStart(start).cursorId(id).build();
+    }
+}
@@ -1,7 +1,9 @@
 package ru.practicum.shareit.booking.dao;
 
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
@@ -10,69 +12,124 @@ import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.util.Status;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
-public interface BookingStorage extends JpaRepository<Booking, Long> {
+public interface BookingStorage extends JpaRepository<Booking, Long>, BookingStorageCustom {
     Optional<Booking> findFirstByItemIdAndStartLessThanEqualAndStatus(Long itemId, LocalDateTime time,
                                                                       Status status, Sort sort);
 
     Optional<Booking> findFirstByItemIdAndStartAfterAndStatus(Long itemId, LocalDateTime time,
                                                               Status bookingStatus, Sort sort);
 
+    @EntityGraph(attributePaths = {"item", "booker"})
     List<Booking> findAllByBookerId(Long bookerId, PageRequest pageRequest);
 
+    @EntityGraph(attributePaths = {"item", "booker"})
     List<Booking> findAllByBookerIdAndStatus(Long bookerId, Status bookingStatus, PageRequest pageRequest);
 
-    List<Booking> findByItemInAndStartLessThanEqualAndStatus(List<Item> items, LocalDateTime thisMoment,
-                                                             Status approved, Sort end);
+    List<Booking> findAllByItemIdAndStatus(Long itemId, Status status);
 
-    List<Booking> findAllByBookerIdAndItemIdAndStatusEqualsAndEndIsBefore(Long bookerId, Long itemId,
-                                                                          Status status, LocalDateTime end);
+    boolean existsByBookerIdAndItemIdAndStatusAndEndBefore(Long bookerId, Long itemId, Status status,
+                                                           LocalDateTime end);
 
-    List<Booking> findByItemInAndStartAfterAndStatus(List<Item> items, LocalDateTime thisMoment,
-                                                     Status approved, Sort end);
+    boolean existsByItemIdAndStatusAndStartBeforeAndEndAfter(Long itemId, Status status,
+                                                             LocalDateTime end, LocalDateTime start);
+
+    List<Booking> findAllByItemIdInAndStatusAndStartBeforeAndEndAfter(Collection<Long> itemIds, Status status,
+                                                                      LocalDateTime end, LocalDateTime start);
+
+    @Query("SELECT b FROM Booking b " +
+            "WHERE b.item IN :items " +
+            "AND b.status = :status " +
+            "AND b.start <= :now " +
+            "AND b.end = (SELECT max(l.end) FROM Booking l " +
+            "WHERE l.item = b.item AND l.status = :status AND l.start <= :now)")
+    List<Booking> findLastByItemIn(@Param("items") List<Item> items, @Param("now") LocalDateTime now,
+                                   @Param("status") Status status);
 
+    @Query("SELECT b FROM Booking b " +
+            "WHERE b.item IN :items " +
+            "AND b.status = :status " +
+            "AND b.start > :now " +
+            "AND b.end = (SELECT min(n.end) FROM Booking n " +
+            "WHERE n.item = b.item AND n.status = :status AND n.start > :now)")
+    List<Booking> findNextByItemIn(@Param("items") List<Item> items, @Param("now") LocalDateTime now,
+                                   @Param("status") Status status);
+
+    @EntityGraph(attributePaths = {"item", "booker"})
     @Query("SELECT b FROM Booking b " +
             "WHERE b.booker.id = :bookerId " +
             "AND current_timestamp BETWEEN b.start AND b.end")
     List<Booking> findAllByBookerIdAndStateCurrent(@Param("bookerId") Long bookerId, PageRequest pageRequest);
 
+    @EntityGraph(attributePaths = {"item", "booker"})
     @Query("SELECT b FROM Booking b " +
             "WHERE b.booker.id = :bookerId " +
             "AND current_timestamp > b.end")
     List<Booking> findAllByBookerIdAndStatePast(@Param("bookerId") Long bookerId, PageRequest pageRequest);
 
+    @EntityGraph(attributePaths = {"item", "booker"})
     @Query("SELECT b FROM Booking b " +
             "WHERE b.booker.id = :bookerId " +
             "AND current_timestamp < b.start")
     List<Booking> findAllByBookerIdAndStateFuture(@Param("bookerId") Long bookerId, PageRequest pageRequest);
 
 
+    @EntityGraph(attributePaths = {"item", "booker"})
     @Query("SELECT b FROM Booking b " +
             "WHERE b.item.owner.id = :ownerId")
     List<Booking> findAllByOwnerId(@Param("ownerId") Long ownerId, PageRequest pageRequest);
 
+    @EntityGraph(attributePaths = {"item", "booker"})
     @Query("SELECT b FROM Booking b " +
             "WHERE b.item.owner.id = :ownerId " +
             "AND current_timestamp BETWEEN b.start AND b.end")
     List<Booking> findAllByOwnerIdAndStateCurrent(@Param("ownerId") Long ownerId, PageRequest pageRequest);
 
+    @EntityGraph(attributePaths = {"item", "booker"})
     @Query("SELECT b FROM Booking b " +
             "WHERE b.item.owner.id = :ownerId " +
             "AND current_timestamp > b.end")
     List<Booking> findAllByOwnerIdAndStatePast(@Param("ownerId") Long ownerId, PageRequest pageRequest);
 
+    @EntityGraph(attributePaths = {"item", "booker"})
     @Query("SELECT b FROM Booking b " +
             "WHERE b.item.owner.id = :ownerId " +
             "AND current_timestamp < b.start")
     List<Booking> findAllByOwnerIdAndStateFuture(@Param("ownerId") Long ownerId, PageRequest pageRequest);
 
+    @EntityGraph(attributePaths = {"item", "booker"})
     @Query("SELECT b FROM Booking b " +
             "WHERE b.item.owner.id = :ownerId " +
             "AND b.status = :bookingStatus")
     List<Booking> findAllByOwnerIdAndStatus(@Param("ownerId") Long ownerId,
                                             @Param("bookingStatus") Status bookingStatus, PageRequest pageRequest);
 
-
+    @EntityGraph(attributePaths = {"item", "booker"})
+    @Query("SELECT b FROM Booking b " +
+            "WHERE b.booker.id = :bookerId " +
+            "AND b.status IN :#{#filter.statuses} " +
+            "AND b.start > :#{#filter.startAfter} AND b.start < :#{#filter.startBefore} " +
+            "AND b.end > :#{#filter.endAfter} AND b.end < :#{#filter.endBefore} " +
+            "AND b.start <= :#{#filter.startNotAfter} AND b.end >= :#{#filter.endNotBefore} " +
+            "AND (b.start < :#{#filter.cursorStart} " +
+            "OR (b.start = :#{#filter.cursorStart} AND b.id < :#{#filter.cursorId})) " +
+            "ORDER BY b.start DESC, b.id DESC")
+    List<Booking> findAllByBookerIdAfterCursor(@Param("bookerId") Long bookerId,
+                                               @Param("filter") BookingPageFilter filter, Pageable pageable);
+
+    @EntityGraph(attributePaths = {"item", "booker"})
+    @Query("SELECT b FROM Booking b " +
+            "WHERE b.item.owner.id = :ownerId " +
+            "AND b.status IN :#{#filter.statuses} " +
+            "AND b.start > :#{#filter.startAfter} AND b.start < :#{#filter.startBefore} " +
+            "AND b.end > :#{#filter.endAfter} AND b.end < :#{#filter.endBefore} " +
+            "AND b.start <= :#{#filter.startNotAfter} AND b.end >= :#{#filter.endNotBefore} " +
+            "AND (b.start < :#{#filter.cursorStart} " +
+            "OR (b.start = :#{#filter.cursorStart} AND b.id < :#{#filter.cursorId})) " +
+            "ORDER BY b.start DESC, b.id DESC")
+    List<Booking> findAllByOwnerIdAfterCursor(@Param("ownerId") Long ownerId,
+                                              @Param("filter") BookingPageFilter filter, Pageable pageable);
 }
@@ -0,0 +1,9 @@
+package ru.practicum.shareit.booking.dao;
+
+import ru.practicum.shareit.booking.model.Booking;
+
+import java.util.List;
+
+public interface BookingStorageCustom {
+    void insertAll(List<Booking> bookings);
+}
@@ -0,0 +1,54 @@
+package ru.practicum.shareit.booking.dao;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.dao.IncorrectResultSizeDataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.booking.model.Booking;
+
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.util.List;
+
+@RequiredArgsConstructor
+public class BookingStorageCustomImpl implements BookingStorageCustom {
+    private static final String INSERT_BOOKING = "insert into bookings (start_date, end_date, item_id, booker_id, status) " +
+            "values (?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Override
+    public void insertAll(List<Booking> bookings) {
+        if (bookings.isEmpty()) {
+            return;
+        }
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(INSERT_BOOKING, new String[]{"id"})) {
+                for (Booking booking : bookings) {
+                    statement.setTimestamp(1, Timestamp.valueOf(booking.getStart()));
+                    statement.setTimestamp(2, Timestamp.valueOf(booking.getEnd()));
+                    statement.setLong(3, booking.getItem().getId());
+                    statement.setLong(4, booking.getBooker().getId());
+                    statement.setString(5, booking.getStatus().name());
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+                try (ResultSet keys = statement.getGeneratedKeys()) {
+                    for (int i = 0; i < bookings.size(); i++) {
+                        if (!keys.next()) {
+                            throw new IncorrectResultSizeDataAccessException("Driver returned fewer generated " +
+                                    "booking ids than inserted rows.", bookings.size(), i);
+                        }
+                        bookings.get(i).setId(keys.getLong(1));
+                    }
+                    if (keys.next()) {
+                        throw new IncorrectResultSizeDataAccessException("Driver returned more generated " +
+                                "booking ids than inserted rows.", bookings.size());
+                    }
+                }
+            }
+            return null;
+        });
+    }
+}
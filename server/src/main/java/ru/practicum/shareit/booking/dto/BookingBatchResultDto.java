@@ -0,0 +1,12 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Data
+@Builder(toBuilder = true)
+public class BookingBatchResultDto {
+    private int index;
+    private BookingDtoOut booking;
+    private String error;
+}
@@ -1,14 +1,19 @@
 package ru.practicum.shareit.booking.service;
 
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingDtoOut;
+import ru.practicum.shareit.util.CursorPage;
 import ru.practicum.shareit.util.Status;
 
 import java.util.Collection;
+import java.util.List;
 
 public interface BookingService {
     BookingDtoOut add(BookingDto bookingDto, Long userId);
 
+    List<BookingBatchResultDto> addAll(List<BookingDto> bookingDtos, Long userId);
+
     BookingDtoOut getById(Long userId, Long bookingId);
 
     BookingDtoOut approve(Long userId, Long bookingId, Boolean approved);
@@ -16,4 +21,8 @@ public interface BookingService {
     Collection<BookingDtoOut> getAllByUser(Long bookerId, Status status, int from, int size);
 
     Collection<BookingDtoOut> getAllByOwner(Long ownerId, Status status, int from, int size);
+
+    CursorPage<BookingDtoOut> getAllByUserAfter(Long bookerId, Status status, String cursor, int size);
+
+    CursorPage<BookingDtoOut> getAllByOwnerAfter(Long ownerId, Status status, String cursor, int size);
 }
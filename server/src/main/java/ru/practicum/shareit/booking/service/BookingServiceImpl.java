@@ -2,25 +2,33 @@ package ru.practicum.shareit.booking.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dao.BookingPageFilter;
 import ru.practicum.shareit.booking.dao.BookingStorage;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingDtoOut;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.item.dao.ItemStorage;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.service.ItemAvailability;
 import ru.practicum.shareit.user.dao.UserStorage;
 import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.util.CursorPage;
+import ru.practicum.shareit.util.FromSizeRequest;
+import ru.practicum.shareit.util.PageCursor;
 import ru.practicum.shareit.util.Status;
 import ru.practicum.shareit.util.exception.*;
 
-import java.util.Collection;
-import java.util.List;
-import java.util.Objects;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 
 import static ru.practicum.shareit.util.Status.WAITING;
@@ -31,9 +39,13 @@ import static ru.practicum.shareit.util.Status.WAITING;
 @Transactional
 @Slf4j
 public class BookingServiceImpl implements BookingService {
+    private static final String EXCLUSION_VIOLATION_SQL_STATE = "23P01";
+    private static final int MAX_BATCH_SIZE = 5000;
+
     private final BookingStorage bookingStorage;
     private final ItemStorage itemStorage;
     private final UserStorage userStorage;
+    private final ItemAvailability itemAvailability;
 
     private final Sort sort = Sort.by(Sort.Direction.DESC, "start");
 
@@ -47,6 +59,7 @@ public class BookingServiceImpl implements BookingService {
         if (!item.getAvailable()) {
             throw new BadRequestException("User can't book unavailable items.");
         }
+        checkOverlap(item.getId(), bookingDto.getStart(), bookingDto.getEnd());
         Booking booking = BookingMapper.toBooking(bookingDto, item, user);
         booking.setBooker(user);
         booking.setItem(item);
@@ -55,6 +68,52 @@ public class BookingServiceImpl implements BookingService {
         return BookingMapper.toBookingDtoOut(booking);
     }
 
+    @Override
+    public List<BookingBatchResultDto> addAll(List<BookingDto> bookingDtos, Long userId) {
+        if (bookingDtos.isEmpty()) {
+            throw new BadRequestException("Batch must contain at least one booking.");
+        }
+        if (bookingDtos.size() > MAX_BATCH_SIZE) {
+            throw new BadRequestException(String.format("Batch can contain at most %d bookings.", MAX_BATCH_SIZE));
+        }
+        User user = getUser(userId);
+        Set<Long> itemIds = bookingDtos.stream()
+                .map(BookingDto::getItemId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        Map<Long, Item> items = itemStorage.findAllById(itemIds).stream()
+                .collect(Collectors.toMap(Item::getId, Function.identity()));
+        Map<Long, List<Booking>> approved = findApproved(items.keySet(), bookingDtos);
+        LocalDateTime now = LocalDateTime.now();
+
+        List<BookingBatchResultDto> results = new ArrayList<>(bookingDtos.size());
+        List<Booking> bookings = new ArrayList<>();
+        List<BookingBatchResultDto> created = new ArrayList<>();
+        for (int i = 0; i < bookingDtos.size(); i++) {
+            BookingDto bookingDto = bookingDtos.get(i);
+            Item item = items.get(bookingDto.getItemId());
+            String error = validate(bookingDto, item, userId, now);
+            // As in add, only approved bookings block dates: batch entries are created WAITING,
+            // so entries overlapping each other are all accepted and approve settles between them.
+            if (error == null && overlaps(bookingDto, approved.getOrDefault(item.getId(), List.of()))) {
+                error = String.format("Item with id %d is already booked for these dates.", item.getId());
+            }
+            BookingBatchResultDto result = BookingBatchResultDto.builder().index(i).error(error).build();
+            results.add(result);
+            if (error == null) {
+                bookings.add(BookingMapper.toBooking(bookingDto, item, user));
+                created.add(result);
+            }
+        }
+
+        bookingStorage.insertAll(bookings);
+        for (int i = 0; i < bookings.size(); i++) {
+            created.get(i).setBooking(BookingMapper.toBookingDtoOut(bookings.get(i)));
+        }
+        log.info("Batch of {} bookings processed, {} created.", bookingDtos.size(), bookings.size());
+        return results;
+    }
+
     @Override
     @Transactional(readOnly = true)
     public BookingDtoOut getById(Long bookingId, Long userId) {
@@ -79,8 +138,21 @@ public class BookingServiceImpl implements BookingService {
         if (!booking.getStatus().equals(WAITING)) {
             throw new BadRequestException("Only WAITING can be approved or rejected");
         }
+        if (approved) {
+            checkOverlap(item.getId(), booking.getStart(), booking.getEnd());
+            itemAvailability.markBooked(booking);
+        }
         Status status = approved ? Status.APPROVED : Status.REJECTED;
         booking.setStatus(status);
+        try {
+            bookingStorage.saveAndFlush(booking);
+        } catch (DataIntegrityViolationException e) {
+            if (isOverlapViolation(e)) {
+                throw new BadRequestException(String.format("Item with id %d is already booked for these dates.",
+                        item.getId()));
+            }
+            throw e;
+        }
         log.info("Booking status of booking with id {} was updated. ", booking.getId());
         return BookingMapper.toBookingDtoOut(booking);
     }
@@ -90,7 +162,7 @@ public class BookingServiceImpl implements BookingService {
     public Collection<BookingDtoOut> getAllByUser(Long bookerId, Status status, int from, int size) {
         User booker = getUser(bookerId);
         List<Booking> bookings;
-        PageRequest pageRequest = PageRequest.of(from / size, size, sort);
+        PageRequest pageRequest = FromSizeRequest.of(from, size, sort);
         switch (status) {
             case ALL:
                 bookings = bookingStorage.findAllByBookerId(booker.getId(), pageRequest);
@@ -123,7 +195,7 @@ public class BookingServiceImpl implements BookingService {
     public Collection<BookingDtoOut> getAllByOwner(Long ownerId, Status status, int from, int size) {
         User owner = getUser(ownerId);
         List<Booking> bookings;
-        PageRequest pageRequest = PageRequest.of(from / size, size, sort);
+        PageRequest pageRequest = FromSizeRequest.of(from, size, sort);
         switch (status) {
             case ALL:
                 bookings = bookingStorage.findAllByOwnerId(owner.getId(), pageRequest);
@@ -151,12 +223,94 @@ public class BookingServiceImpl implements BookingService {
         return bookings.stream().map(BookingMapper::toBookingDtoOut).collect(Collectors.toList());
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<BookingDtoOut> getAllByUserAfter(Long bookerId, Status status, String cursor, int size) {
+        User booker = getUser(bookerId);
+        List<Booking> bookings = bookingStorage.findAllByBookerIdAfterCursor(booker.getId(),
+                toPageFilter(status, cursor), PageRequest.of(0, size));
+        return toCursorPage(bookings, size);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<BookingDtoOut> getAllByOwnerAfter(Long ownerId, Status status, String cursor, int size) {
+        User owner = getUser(ownerId);
+        List<Booking> bookings = bookingStorage.findAllByOwnerIdAfterCursor(owner.getId(),
+                toPageFilter(status, cursor), PageRequest.of(0, size));
+        return toCursorPage(bookings, size);
+    }
+
     public Booking getBookingById(Long bookingId) {
         log.info("Getting booking with Id {}", bookingId);
         return bookingStorage.findById(bookingId).orElseThrow(() ->
                 new BookingNotFoundException(String.format("Booking with id %d not found.", bookingId)));
     }
 
+    private BookingPageFilter toPageFilter(Status status, String cursor) {
+        BookingPageFilter filter = BookingPageFilter.of(status, LocalDateTime.now());
+        PageCursor pageCursor = PageCursor.decode(cursor, 2);
+        return pageCursor == null ? filter : filter.after(pageCursor.getDateTime(0), pageCursor.getLong(1));
+    }
+
+    private CursorPage<BookingDtoOut> toCursorPage(List<Booking> bookings, int size) {
+        List<BookingDtoOut> result = bookings.stream().map(BookingMapper::toBookingDtoOut).collect(Collectors.toList());
+        return CursorPage.of(result, size, booking -> PageCursor.encode(booking.getStart(), booking.getId()));
+    }
+
+    private Map<Long, List<Booking>> findApproved(Set<Long> itemIds, List<BookingDto> bookingDtos) {
+        LocalDateTime from = bookingDtos.stream().map(BookingDto::getStart).filter(Objects::nonNull)
+                .min(Comparator.naturalOrder()).orElse(null);
+        LocalDateTime to = bookingDtos.stream().map(BookingDto::getEnd).filter(Objects::nonNull)
+                .max(Comparator.naturalOrder()).orElse(null);
+        if (itemIds.isEmpty() || from == null || to == null) {
+            return Map.of();
+        }
+        return bookingStorage.findAllByItemIdInAndStatusAndStartBeforeAndEndAfter(itemIds, Status.APPROVED, to, from)
+                .stream()
+                .collect(Collectors.groupingBy(booking -> booking.getItem().getId()));
+    }
+
+    private String validate(BookingDto bookingDto, Item item, Long userId, LocalDateTime now) {
+        if (bookingDto.getItemId() == null) {
+            return "Item id is required.";
+        }
+        if (bookingDto.getStart() == null || bookingDto.getEnd() == null
+                || !bookingDto.getStart().isBefore(bookingDto.getEnd())) {
+            return "End date cant be before start date.";
+        }
+        if (bookingDto.getStart().isBefore(now)) {
+            return "Start date can't be in the past.";
+        }
+        if (item == null) {
+            return String.format("Item with id %d not found.", bookingDto.getItemId());
+        }
+        if (item.getOwner().getId().equals(userId)) {
+            return "User can't book own item.";
+        }
+        if (!item.getAvailable()) {
+            return "User can't book unavailable items.";
+        }
+        return null;
+    }
+
+    private boolean overlaps(BookingDto bookingDto, List<Booking> approved) {
+        LocalDateTime start = bookingDto.getStart();
+        LocalDateTime end = bookingDto.getEnd();
+        return approved.stream().anyMatch(booking -> booking.getStart().isBefore(end) && booking.getEnd().isAfter(start));
+    }
+
+    private static boolean isOverlapViolation(DataIntegrityViolationException e) {
+        return e.getCause() instanceof ConstraintViolationException
+                && EXCLUSION_VIOLATION_SQL_STATE.equals(((ConstraintViolationException) e.getCause()).getSQLState());
+    }
+
+    private void checkOverlap(Long itemId, LocalDateTime start, LocalDateTime end) {
+        if (bookingStorage.existsByItemIdAndStatusAndStartBeforeAndEndAfter(itemId, Status.APPROVED, end, start)) {
+            throw new BadRequestException(String.format("Item with id %d is already booked for these dates.", itemId));
+        }
+    }
+
     private User getUser(Long userId) {
         return userStorage.findById(userId).orElseThrow(() ->
                 new UserNotFoundException(String.format("User with id %d not found.", userId)));
@@ -2,14 +2,20 @@ package ru.practicum.shareit.item.controller;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.CommentDtoOut;
+import ru.practicum.shareit.item.dto.FreeRangeDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemDtoOut;
 import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.util.metrics.QueryBudget;
 
+import java.time.LocalDateTime;
 import java.util.Collection;
+import java.util.List;
 
 
 @RestController
@@ -35,6 +41,7 @@ public class ItemController {
     }
 
     @GetMapping("/{itemId}")
+    @QueryBudget(6)
     public ItemDtoOut get(@PathVariable Long itemId, @RequestHeader(HEADER) Long userId) {
         log.info("New request for item search with id={}", itemId);
         return itemService.getById(itemId, userId);
@@ -56,6 +63,55 @@ public class ItemController {
         return itemService.search(text, from, size);
     }
 
+    @GetMapping(path = "/search", params = {"start", "end"})
+    @QueryBudget(1)
+    public Collection<ItemDtoOut> searchAvailableItem(@RequestParam String text,
+                                                      @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                      LocalDateTime start,
+                                                      @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                                      LocalDateTime end,
+                                                      @RequestParam(defaultValue = "0") int from,
+                                                      @RequestParam(defaultValue = "10") int size) {
+        log.info("New request for searching item by text={} available from {} to {}", text, start, end);
+        return itemService.searchAvailable(text, start, end, from, size);
+    }
+
+    @GetMapping(params = "cursor")
+    public ResponseEntity<List<ItemDtoOut>> getUserItemsAfter(@RequestHeader(HEADER) Long userId,
+                                                              @RequestParam String cursor,
+                                                              @RequestParam(defaultValue = "10") int size) {
+        log.info("New request for user items page with userId={}", userId);
+        return itemService.getUserItemsAfter(userId, cursor, size).toResponseEntity();
+    }
+
+    @GetMapping(path = "/search", params = "cursor")
+    public ResponseEntity<List<ItemDtoOut>> searchItemAfter(@RequestParam String text,
+                                                            @RequestParam String cursor,
+                                                            @RequestParam(defaultValue = "10") int size) {
+        log.info("New request for searching item page by text={}", text);
+        return itemService.searchAfter(text, cursor, size).toResponseEntity();
+    }
+
+    @GetMapping("/{itemId}/comments")
+    @QueryBudget(2)
+    public ResponseEntity<List<CommentDtoOut>> getComments(@PathVariable Long itemId,
+                                                           @RequestParam(required = false) String cursor,
+                                                           @RequestParam(defaultValue = "10") int size) {
+        log.info("New request for comments page of item {}", itemId);
+        return itemService.getComments(itemId, cursor, size).toResponseEntity();
+    }
+
+    @GetMapping("/{itemId}/availability")
+    @QueryBudget(2)
+    public List<FreeRangeDto> getAvailability(@PathVariable Long itemId,
+                                              @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                              LocalDateTime from,
+                                              @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+                                              LocalDateTime to) {
+        log.info("New request for availability of item {}", itemId);
+        return itemService.getAvailability(itemId, from, to);
+    }
+
     @PostMapping("/{itemId}/comment")
     public CommentDtoOut addComment(@PathVariable Long itemId,
                                     @RequestHeader(HEADER) Long userId,
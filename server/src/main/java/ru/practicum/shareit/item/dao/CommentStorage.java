@@ -1,16 +1,36 @@
 package ru.practicum.shareit.item.dao;
 
-import org.springframework.data.domain.Sort;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import ru.practicum.shareit.item.model.Comment;
-import ru.practicum.shareit.item.model.Item;
 
+import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.List;
 
 
 public interface CommentStorage extends JpaRepository<Comment, Long> {
-    Collection<Comment> findAllByItemId(Long itemId);
+    @Query(value = "SELECT c.id AS \"id\", c.item_id AS \"itemId\", c.text AS \"text\", u.name AS \"authorName\", " +
+            "c.created AS \"created\", c.total AS \"total\" " +
+            "FROM (SELECT cm.*, " +
+            "row_number() OVER (PARTITION BY cm.item_id ORDER BY cm.created DESC, cm.id DESC) AS rn, " +
+            "count(*) OVER (PARTITION BY cm.item_id) AS total " +
+            "FROM comments cm WHERE cm.item_id IN (:itemIds)) c " +
+            "JOIN users u ON u.id = c.author_id " +
+            "WHERE c.rn <= :limit " +
+            "ORDER BY c.item_id, c.created DESC, c.id DESC", nativeQuery = true)
+    List<CommentView> findLatestByItemIdIn(@Param("itemIds") Collection<Long> itemIds, @Param("limit") int limit);
 
-    Collection<Comment> findByItemIn(List<Item> ownerItems, Sort created);
+    @EntityGraph(attributePaths = "author")
+    List<Comment> findAllByItemId(Long itemId, Pageable pageable);
+
+    @EntityGraph(attributePaths = "author")
+    @Query("SELECT c FROM Comment c " +
+            "WHERE c.item.id = :itemId " +
+            "AND (c.created < :created OR (c.created = :created AND c.id < :id))")
+    List<Comment> findAllByItemIdBefore(@Param("itemId") Long itemId, @Param("created") LocalDateTime created,
+                                        @Param("id") Long id, Pageable pageable);
 }
@@ -0,0 +1,17 @@
+package ru.practicum.shareit.item.dao;
+
+import java.time.LocalDateTime;
+
+public interface CommentView {
+    Long getId();
+
+    Long getItemId();
+
+    String getText();
+
+    String getAuthorName();
+
+    LocalDateTime getCreated();
+
+    long getTotal();
+}
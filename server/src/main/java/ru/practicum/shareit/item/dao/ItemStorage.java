@@ -1,11 +1,14 @@
 package ru.practicum.shareit.item.dao;
 
 import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.util.Status;
 
+import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.List;
 
@@ -13,12 +16,38 @@ public interface ItemStorage extends JpaRepository<Item, Long> {
 
     Collection<Item> findAllByOwnerId(Long ownerId, PageRequest pageRequest);
 
+    List<Item> findAllByOwnerIdAndIdGreaterThan(Long ownerId, Long id, Pageable pageable);
+
     @Query("select item from Item item " +
             "where item.available = true " +
-            "and (lower(item.name) like %:text% " +
-            "or lower(item.description) like %:text%)")
+            "and (lower(item.name) like %:text% escape '\\' " +
+            "or lower(item.description) like %:text% escape '\\') " +
+            "order by case when lower(item.name) like %:text% escape '\\' then 0 else 1 end, item.id")
     List<Item> search(@Param("text") String text, PageRequest pageRequest);
 
+    @Query("select item from Item item " +
+            "where item.available = true " +
+            "and (lower(item.name) like %:text% escape '\\' " +
+            "or lower(item.description) like %:text% escape '\\') " +
+            "and (case when lower(item.name) like %:text% escape '\\' then 0 else 1 end > :rank " +
+            "or (case when lower(item.name) like %:text% escape '\\' then 0 else 1 end = :rank and item.id > :id)) " +
+            "order by case when lower(item.name) like %:text% escape '\\' then 0 else 1 end, item.id")
+    List<Item> searchAfter(@Param("text") String text, @Param("rank") int rank, @Param("id") Long id,
+                           Pageable pageable);
+
+    @Query("select item from Item item " +
+            "where item.available = true " +
+            "and (lower(item.name) like %:text% escape '\\' " +
+            "or lower(item.description) like %:text% escape '\\') " +
+            "and not exists (select booking.id from Booking booking " +
+            "where booking.item = item " +
+            "and booking.status = :status " +
+            "and booking.start < :end and booking.end > :start) " +
+            "order by case when lower(item.name) like %:text% escape '\\' then 0 else 1 end, item.id")
+    List<Item> searchAvailable(@Param("text") String text, @Param("start") LocalDateTime start,
+                               @Param("end") LocalDateTime end, @Param("status") Status status,
+                               PageRequest pageRequest);
+
     @Query("select item from Item item " +
             "where item.itemRequest.id = :requestId")
     List<Item> findByItemRequestId(@Param("requestId") Long requestId);
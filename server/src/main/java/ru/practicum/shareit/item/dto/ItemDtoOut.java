@@ -21,6 +21,7 @@ public class ItemDtoOut {
     private BookingDtoShort lastBooking;
     private BookingDtoShort nextBooking;
     private List<CommentDtoOut> comments;
+    private Long commentsCount;
     private UserDtoShort owner;
     private Long requestId;
 }
@@ -1,5 +1,6 @@
 package ru.practicum.shareit.item.mapper;
 
+import ru.practicum.shareit.item.dao.CommentView;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.CommentDtoOut;
 import ru.practicum.shareit.item.model.Comment;
@@ -18,6 +19,15 @@ public class CommentMapper {
                 .build();
     }
 
+    public static CommentDtoOut toCommentDtoOut(CommentView comment) {
+        return CommentDtoOut.builder()
+                .id(comment.getId())
+                .text(comment.getText())
+                .authorName(comment.getAuthorName())
+                .created(comment.getCreated())
+                .build();
+    }
+
     public static Comment toComment(CommentDto commentDto, Item item, User user) {
         return Comment.builder()
                 .item(item)
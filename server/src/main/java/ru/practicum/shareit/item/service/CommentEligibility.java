@@ -0,0 +1,38 @@
+package ru.practicum.shareit.item.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import ru.practicum.shareit.booking.dao.BookingStorage;
+
+import java.time.LocalDateTime;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static ru.practicum.shareit.util.Status.APPROVED;
+
+@Component
+public class CommentEligibility {
+    private final BookingStorage bookingStorage;
+    private final Cache<Long, Set<Long>> completedItems;
+
+    public CommentEligibility(BookingStorage bookingStorage,
+                              @Value("${shareit.comment-eligibility.max-users:10000}") long maxUsers) {
+        this.bookingStorage = bookingStorage;
+        this.completedItems = Caffeine.newBuilder().maximumSize(maxUsers).build();
+    }
+
+    public boolean canComment(Long userId, Long itemId) {
+        Set<Long> itemIds = completedItems.getIfPresent(userId);
+        if (itemIds != null && itemIds.contains(itemId)) {
+            return true;
+        }
+        if (bookingStorage.existsByBookerIdAndItemIdAndStatusAndEndBefore(userId, itemId, APPROVED,
+                LocalDateTime.now())) {
+            completedItems.get(userId, id -> ConcurrentHashMap.newKeySet()).add(itemId);
+            return true;
+        }
+        return false;
+    }
+}
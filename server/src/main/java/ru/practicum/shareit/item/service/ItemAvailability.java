@@ -0,0 +1,87 @@
+package ru.practicum.shareit.item.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.dao.BookingStorage;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.dto.FreeRangeDto;
+import ru.practicum.shareit.util.HourBitmap;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static ru.practicum.shareit.util.Status.APPROVED;
+
+@Component
+public class ItemAvailability {
+    private final BookingStorage bookingStorage;
+    private final Cache<Long, HourBitmap> calendars;
+
+    public ItemAvailability(BookingStorage bookingStorage,
+                            @Value("${shareit.availability.max-items:10000}") long maxItems,
+                            @Value("${shareit.availability.ttl:PT1M}") Duration ttl) {
+        this.bookingStorage = bookingStorage;
+        this.calendars = Caffeine.newBuilder().maximumSize(maxItems).expireAfterWrite(ttl).build();
+    }
+
+    public List<FreeRangeDto> getFreeRanges(Long itemId, LocalDateTime from, LocalDateTime to) {
+        HourBitmap calendar = calendars.get(itemId, this::load);
+        List<FreeRangeDto> ranges = new ArrayList<>();
+        long end = HourBitmap.ceilHour(to);
+        long hour = calendar.nextClearBit(HourBitmap.floorHour(from));
+        while (hour < end) {
+            long booked = Math.min(calendar.nextSetBit(hour), end);
+            ranges.add(new FreeRangeDto(max(from, HourBitmap.toDateTime(hour)), min(to, HourBitmap.toDateTime(booked))));
+            if (booked == end) {
+                break;
+            }
+            hour = calendar.nextClearBit(booked);
+        }
+        return ranges;
+    }
+
+    public void markBooked(Booking booking) {
+        Long itemId = booking.getItem().getId();
+        long from = HourBitmap.floorHour(booking.getStart());
+        long to = HourBitmap.ceilHour(booking.getEnd());
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            mark(itemId, from, to);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                mark(itemId, from, to);
+            }
+        });
+    }
+
+    private void mark(Long itemId, long from, long to) {
+        calendars.asMap().computeIfPresent(itemId, (id, calendar) -> {
+            calendar.set(from, to);
+            return calendar;
+        });
+    }
+
+    private HourBitmap load(Long itemId) {
+        HourBitmap calendar = new HourBitmap();
+        for (Booking booking : bookingStorage.findAllByItemIdAndStatus(itemId, APPROVED)) {
+            calendar.set(HourBitmap.floorHour(booking.getStart()), HourBitmap.ceilHour(booking.getEnd()));
+        }
+        return calendar;
+    }
+
+    private static LocalDateTime max(LocalDateTime a, LocalDateTime b) {
+        return a.isAfter(b) ? a : b;
+    }
+
+    private static LocalDateTime min(LocalDateTime a, LocalDateTime b) {
+        return a.isBefore(b) ? a : b;
+    }
+}
@@ -2,10 +2,14 @@ package ru.practicum.shareit.item.service;
 
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.CommentDtoOut;
+import ru.practicum.shareit.item.dto.FreeRangeDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemDtoOut;
+import ru.practicum.shareit.util.CursorPage;
 
+import java.time.LocalDateTime;
 import java.util.Collection;
+import java.util.List;
 
 public interface ItemService {
     ItemDtoOut add(Long userId, ItemDto itemDto);
@@ -18,6 +22,16 @@ public interface ItemService {
 
     Collection<ItemDtoOut> search(String text, int from, int size);
 
+    Collection<ItemDtoOut> searchAvailable(String text, LocalDateTime start, LocalDateTime end, int from, int size);
+
+    CursorPage<ItemDtoOut> getUserItemsAfter(Long userId, String cursor, int size);
+
+    CursorPage<ItemDtoOut> searchAfter(String text, String cursor, int size);
+
     CommentDtoOut addComment(Long itemId, Long userId, CommentDto commentDto);
 
+    CursorPage<CommentDtoOut> getComments(Long itemId, String cursor, int size);
+
+    List<FreeRangeDto> getAvailability(Long itemId, LocalDateTime from, LocalDateTime to);
+
 }
@@ -10,9 +10,11 @@ import ru.practicum.shareit.booking.dao.BookingStorage;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.item.dao.CommentStorage;
+import ru.practicum.shareit.item.dao.CommentView;
 import ru.practicum.shareit.item.dao.ItemStorage;
 import ru.practicum.shareit.item.dto.CommentDto;
 import ru.practicum.shareit.item.dto.CommentDtoOut;
+import ru.practicum.shareit.item.dto.FreeRangeDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemDtoOut;
 import ru.practicum.shareit.item.mapper.CommentMapper;
@@ -23,30 +25,35 @@ import ru.practicum.shareit.request.dao.ItemRequestStorage;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.dao.UserStorage;
 import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.util.CursorPage;
+import ru.practicum.shareit.util.FromSizeRequest;
+import ru.practicum.shareit.util.LongMap;
+import ru.practicum.shareit.util.PageCursor;
 import ru.practicum.shareit.util.Status;
 import ru.practicum.shareit.util.exception.*;
 
 import java.time.LocalDateTime;
 import java.util.*;
-import java.util.function.Function;
-import java.util.stream.Collectors;
 
-import static java.util.stream.Collectors.groupingBy;
 import static java.util.stream.Collectors.toList;
 import static org.springframework.data.domain.Sort.Direction.ASC;
 import static org.springframework.data.domain.Sort.Direction.DESC;
-import static ru.practicum.shareit.util.Status.APPROVED;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 @Transactional
 public class ItemServiceImpl implements ItemService {
+    private static final int LATEST_COMMENTS = 10;
+    private static final int MAX_AVAILABILITY_DAYS = 366;
+    private static final Sort NEWEST_FIRST = Sort.by(DESC, "created").and(Sort.by(DESC, "id"));
     private final ItemStorage itemStorage;
     private final UserStorage userStorage;
     private final CommentStorage commentStorage;
     private final BookingStorage bookingStorage;
     private final ItemRequestStorage itemRequestStorage;
+    private final CommentEligibility commentEligibility;
+    private final ItemAvailability itemAvailability;
 
     @Override
     public ItemDtoOut add(Long userId, ItemDto itemDto) {
@@ -88,8 +95,8 @@ public class ItemServiceImpl implements ItemService {
     @Transactional(readOnly = true)
     public Collection<ItemDtoOut> getUserItems(Long userId, int from, int size) {
         log.info("Get user {} items.", userId);
-        validateAndGetUser(userId);
-        List<Item> items = new ArrayList<>(itemStorage.findAllByOwnerId(userId, PageRequest.of(from / size, size, Sort.by(ASC, "id"))));
+        checkUser(userId);
+        List<Item> items = new ArrayList<>(itemStorage.findAllByOwnerId(userId, FromSizeRequest.of(from, size, Sort.by(ASC, "id"))));
         return addBookingsAndCommentsList(items);
     }
 
@@ -100,15 +107,61 @@ public class ItemServiceImpl implements ItemService {
         if (text.isEmpty() || text.isBlank()) {
             return Collections.emptyList();
         }
-        return itemStorage.search(text.toLowerCase(), PageRequest.of(from / size, size)).stream().map(ItemMapper::toItemDtoOut).collect(toList());
+        return itemStorage.search(likePattern(text), FromSizeRequest.of(from, size)).stream().map(ItemMapper::toItemDtoOut).collect(toList());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Collection<ItemDtoOut> searchAvailable(String text, LocalDateTime start, LocalDateTime end,
+                                                  int from, int size) {
+        log.info("Getting item by text {} available from {} to {}", text, start, end);
+        if (!start.isBefore(end)) {
+            throw new BadRequestException("End date cant be before start date.");
+        }
+        if (text.isBlank()) {
+            return Collections.emptyList();
+        }
+        return itemStorage.searchAvailable(likePattern(text), start, end, Status.APPROVED, FromSizeRequest.of(from, size))
+                .stream()
+                .map(ItemMapper::toItemDtoOut)
+                .collect(toList());
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<ItemDtoOut> getUserItemsAfter(Long userId, String cursor, int size) {
+        log.info("Get user {} items page.", userId);
+        checkUser(userId);
+        PageCursor pageCursor = PageCursor.decode(cursor, 1);
+        long afterId = pageCursor == null ? 0 : pageCursor.getLong(0);
+        List<Item> items = itemStorage.findAllByOwnerIdAndIdGreaterThan(userId, afterId,
+                PageRequest.of(0, size, Sort.by(ASC, "id")));
+        return CursorPage.of(addBookingsAndCommentsList(items), size, item -> PageCursor.encode(item.getId()));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<ItemDtoOut> searchAfter(String text, String cursor, int size) {
+        log.info("Getting item page by text {}", text);
+        if (text.isBlank()) {
+            return new CursorPage<>(Collections.emptyList(), null);
+        }
+        String lowerText = text.toLowerCase();
+        PageCursor pageCursor = PageCursor.decode(cursor, 2);
+        int rank = pageCursor == null ? 0 : pageCursor.getInt(0);
+        long afterId = pageCursor == null ? 0 : pageCursor.getLong(1);
+        List<ItemDtoOut> items = itemStorage.searchAfter(likePattern(text), rank, afterId, PageRequest.of(0, size)).stream()
+                .map(ItemMapper::toItemDtoOut)
+                .collect(toList());
+        return CursorPage.of(items, size, item ->
+                PageCursor.encode(item.getName().toLowerCase().contains(lowerText) ? 0 : 1, item.getId()));
     }
 
     @Override
     public CommentDtoOut addComment(Long itemId, Long userId, CommentDto commentDto) {
         User user = validateAndGetUser(userId);
         Item item = itemStorage.findById(itemId).orElseThrow(() -> new ItemNotFoundException("Item not found."));
-        if (bookingStorage.findAllByBookerIdAndItemIdAndStatusEqualsAndEndIsBefore(userId, itemId, APPROVED,
-                LocalDateTime.now()).isEmpty()) {
+        if (!commentEligibility.canComment(userId, itemId)) {
             throw new BadRequestException("Comment can be added only after booking.");
         }
         Comment comment = CommentMapper.toComment(commentDto, item, user);
@@ -116,40 +169,68 @@ public class ItemServiceImpl implements ItemService {
         return CommentMapper.toCommentDtoOut(comment);
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<CommentDtoOut> getComments(Long itemId, String cursor, int size) {
+        log.info("Get item {} comments page.", itemId);
+        if (!itemStorage.existsById(itemId)) {
+            throw new ItemNotFoundException(String.format("Item with id %d not found.", itemId));
+        }
+        PageCursor pageCursor = PageCursor.decode(cursor, 2);
+        PageRequest pageRequest = PageRequest.of(0, size, NEWEST_FIRST);
+        List<Comment> comments = pageCursor == null
+                ? commentStorage.findAllByItemId(itemId, pageRequest)
+                : commentStorage.findAllByItemIdBefore(itemId, pageCursor.getDateTime(0), pageCursor.getLong(1), pageRequest);
+        return CursorPage.of(comments.stream().map(CommentMapper::toCommentDtoOut).collect(toList()), size,
+                comment -> PageCursor.encode(comment.getCreated(), comment.getId()));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<FreeRangeDto> getAvailability(Long itemId, LocalDateTime from, LocalDateTime to) {
+        log.info("Get item {} availability from {} to {}.", itemId, from, to);
+        if (!from.isBefore(to)) {
+            throw new BadRequestException("Availability end must be after its start.");
+        }
+        if (from.plusDays(MAX_AVAILABILITY_DAYS).isBefore(to)) {
+            throw new BadRequestException(String.format("Availability can be requested for at most %d days.",
+                    MAX_AVAILABILITY_DAYS));
+        }
+        if (!itemStorage.existsById(itemId)) {
+            throw new ItemNotFoundException(String.format("Item with id %d not found.", itemId));
+        }
+        return itemAvailability.getFreeRanges(itemId, from, to);
+    }
+
     private List<ItemDtoOut> addBookingsAndCommentsList(List<Item> items) {
-        Map<Item, Booking> itemsWithLastBookings = bookingStorage
-                .findByItemInAndStartLessThanEqualAndStatus(items, LocalDateTime.now(),
-                        Status.APPROVED, Sort.by(DESC, "end"))
-                .stream()
-                .collect(Collectors.toMap(Booking::getItem, Function.identity()));
+        if (items.isEmpty()) {
+            return new ArrayList<>();
+        }
+        LocalDateTime now = LocalDateTime.now();
+        LongMap<Booking> itemsWithLastBookings = LongMap.byKey(bookingStorage
+                .findLastByItemIn(items, now, Status.APPROVED), booking -> booking.getItem().getId());
 
-        Map<Item, Booking> itemsWithNextBookings = bookingStorage
-                .findByItemInAndStartAfterAndStatus(items, LocalDateTime.now(),
-                        Status.APPROVED, Sort.by(ASC, "end"))
-                .stream()
-                .collect(Collectors.toMap(Booking::getItem, Function.identity(), (o1, o2) -> o1));
+        LongMap<Booking> itemsWithNextBookings = LongMap.byKey(bookingStorage
+                .findNextByItemIn(items, now, Status.APPROVED), booking -> booking.getItem().getId());
 
-        Map<Item, List<Comment>> itemsWithComments = commentStorage
-                .findByItemIn(items, Sort.by(DESC, "created"))
-                .stream()
-                .collect(groupingBy(Comment::getItem, toList()));
+        LongMap<List<CommentView>> itemsWithComments = new LongMap<>(items.size());
+        List<Long> itemIds = items.stream().map(Item::getId).collect(toList());
+        for (CommentView comment : commentStorage.findLatestByItemIdIn(itemIds, LATEST_COMMENTS)) {
+            itemsWithComments.computeIfAbsent(comment.getItemId(), id -> new ArrayList<>()).add(comment);
+        }
 
         List<ItemDtoOut> itemsDtoOutList = new ArrayList<>();
         for (Item item : items) {
             ItemDtoOut itemDtoOut = ItemMapper.toItemDtoOut(item);
-            Booking lastBooking = itemsWithLastBookings.get(item);
-            if (!itemsWithLastBookings.isEmpty() && lastBooking != null) {
+            Booking lastBooking = itemsWithLastBookings.get(item.getId());
+            if (lastBooking != null) {
                 itemDtoOut.setLastBooking(BookingMapper.toBookingDtoShort(lastBooking));
             }
-            Booking nextBooking = itemsWithNextBookings.get(item);
-            if (!itemsWithNextBookings.isEmpty() && nextBooking != null) {
+            Booking nextBooking = itemsWithNextBookings.get(item.getId());
+            if (nextBooking != null) {
                 itemDtoOut.setNextBooking(BookingMapper.toBookingDtoShort(nextBooking));
             }
-            List<CommentDtoOut> commentDtoOutList = itemsWithComments.getOrDefault(item, Collections.emptyList())
-                    .stream()
-                    .map(CommentMapper::toCommentDtoOut)
-                    .collect(toList());
-            itemDtoOut.setComments(commentDtoOutList);
+            setLatestComments(itemDtoOut, itemsWithComments.getOrDefault(item.getId(), Collections.emptyList()));
 
             itemsDtoOutList.add(itemDtoOut);
         }
@@ -172,15 +253,30 @@ public class ItemServiceImpl implements ItemService {
                     .orElse(null));
         }
 
-        itemDtoOut.setComments(commentStorage.findAllByItemId(itemDtoOut.getId())
-                .stream()
-                .map(CommentMapper::toCommentDtoOut)
-                .collect(toList()));
+        setLatestComments(itemDtoOut, commentStorage.findLatestByItemIdIn(List.of(itemDtoOut.getId()), LATEST_COMMENTS));
 
         return itemDtoOut;
     }
 
+    private void setLatestComments(ItemDtoOut itemDtoOut, List<CommentView> comments) {
+        itemDtoOut.setComments(comments.stream().map(CommentMapper::toCommentDtoOut).collect(toList()));
+        itemDtoOut.setCommentsCount(comments.isEmpty() ? 0 : comments.get(0).getTotal());
+    }
+
     private User validateAndGetUser(Long userId) {
         return userStorage.findById(userId).orElseThrow(() -> new UserNotFoundException("User not found."));
     }
+
+    private void checkUser(Long userId) {
+        if (!userStorage.userExists(userId)) {
+            throw new UserNotFoundException("User not found.");
+        }
+    }
+
+    private static String likePattern(String text) {
+        return text.toLowerCase()
+                .replace("\\", "\\\\")
+                .replace("%", "\\%")
+                .replace("_", "\\_");
+    }
 }
@@ -2,10 +2,12 @@ package ru.practicum.shareit.request.controller;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.dto.ItemRequestDtoOut;
 import ru.practicum.shareit.request.service.ItemRequestService;
+import ru.practicum.shareit.util.metrics.QueryBudget;
 
 import java.util.List;
 
@@ -25,12 +27,14 @@ public class ItemRequestController {
     }
 
     @GetMapping("/{requestId}")
+    @QueryBudget(3)
     public ItemRequestDtoOut getRequest(@RequestHeader(HEADER) Long userId, @PathVariable Long requestId) {
         log.info("New GET requests/{requestId} request");
         return itemRequestService.getById(userId, requestId);
     }
 
     @GetMapping("/all")
+    @QueryBudget(3)
     public List<ItemRequestDtoOut> getAll(@RequestHeader(HEADER) Long userId,
                                           @RequestParam(defaultValue = "0") int from,
                                           @RequestParam(defaultValue = "10") int size) {
@@ -38,7 +42,17 @@ public class ItemRequestController {
         return itemRequestService.getAll(userId, from, size);
     }
 
+    @GetMapping(path = "/all", params = "cursor")
+    @QueryBudget(3)
+    public ResponseEntity<List<ItemRequestDtoOut>> getAllAfter(@RequestHeader(HEADER) Long userId,
+                                                               @RequestParam String cursor,
+                                                               @RequestParam(defaultValue = "10") int size) {
+        log.info("New GET requests/all page request");
+        return itemRequestService.getAllAfter(userId, cursor, size).toResponseEntity();
+    }
+
     @GetMapping
+    @QueryBudget(4)
     public List<ItemRequestDtoOut> getAllByUserId(@RequestHeader(HEADER) Long userId) {
         log.info("New GET /requests request");
         return itemRequestService.getAllByUserId(userId);
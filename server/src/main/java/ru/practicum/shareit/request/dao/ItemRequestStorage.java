@@ -3,12 +3,23 @@ package ru.practicum.shareit.request.dao;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import ru.practicum.shareit.request.model.ItemRequest;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface ItemRequestStorage extends JpaRepository<ItemRequest, Long> {
     List<ItemRequest> findAllByRequesterId(Long userId, Sort sort);
 
     List<ItemRequest> findAllByRequesterIdIsNot(Long userId, Pageable pageable);
+
+    @Query("select r from ItemRequest r " +
+            "where r.requester.id <> :userId " +
+            "and (r.created > :created or (r.created = :created and r.id > :id)) " +
+            "order by r.created, r.id")
+    List<ItemRequest> findAllByRequesterIdIsNotAfter(@Param("userId") Long userId,
+                                                     @Param("created") LocalDateTime created,
+                                                     @Param("id") Long id, Pageable pageable);
 }
@@ -2,6 +2,7 @@ package ru.practicum.shareit.request.service;
 
 import ru.practicum.shareit.request.dto.ItemRequestDto;
 import ru.practicum.shareit.request.dto.ItemRequestDtoOut;
+import ru.practicum.shareit.util.CursorPage;
 
 import java.util.List;
 
@@ -13,4 +14,6 @@ public interface ItemRequestService {
     List<ItemRequestDtoOut> getAllByUserId(Long userId);
 
     List<ItemRequestDtoOut> getAll(Long userId, int from, int size);
+
+    CursorPage<ItemRequestDtoOut> getAllAfter(Long userId, String cursor, int size);
 }
@@ -16,6 +16,9 @@ import ru.practicum.shareit.request.mapper.ItemRequestMapper;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.dao.UserStorage;
 import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.util.CursorPage;
+import ru.practicum.shareit.util.FromSizeRequest;
+import ru.practicum.shareit.util.PageCursor;
 import ru.practicum.shareit.util.exception.RequestNotFoundException;
 import ru.practicum.shareit.util.exception.UserNotFoundException;
 
@@ -45,7 +48,7 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     @Override
     @Transactional(readOnly = true)
     public ItemRequestDtoOut getById(Long userId, Long requestId) {
-        getUser(userId);
+        checkUser(userId);
         ItemRequest request = itemRequestStorage.findById(requestId)
                 .orElseThrow(() -> new RequestNotFoundException(String.format("Request %d not found", requestId)));
         ItemRequestDtoOut requestDtoOut = ItemRequestMapper.toItemRequestDtoOut(request);
@@ -60,7 +63,7 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     @Override
     @Transactional(readOnly = true)
     public List<ItemRequestDtoOut> getAllByUserId(Long userId) {
-        getUser(userId);
+        checkUser(userId);
         List<ItemRequestDtoOut> result = itemRequestStorage.findAllByRequesterId(userId, Sort.by(Sort.Direction.ASC, "created")).stream()
                 .map(ItemRequestMapper::toItemRequestDtoOut)
                 .collect(Collectors.toList());
@@ -72,21 +75,42 @@ public class ItemRequestServiceImpl implements ItemRequestService {
     @Override
     @Transactional(readOnly = true)
     public List<ItemRequestDtoOut> getAll(Long userId, int from, int size) {
-        getUser(userId);
+        checkUser(userId);
         Sort sort = Sort.by(Sort.Direction.ASC, "created");
         List<ItemRequestDtoOut> result = itemRequestStorage
-                .findAllByRequesterIdIsNot(userId, PageRequest.of(from / size, size, sort)).stream()
+                .findAllByRequesterIdIsNot(userId, FromSizeRequest.of(from, size, sort)).stream()
                 .map(ItemRequestMapper::toItemRequestDtoOut).collect(Collectors.toList());
         addRequestsItems(result);
         log.info("Item requests list pageable:");
         return result;
     }
 
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPage<ItemRequestDtoOut> getAllAfter(Long userId, String cursor, int size) {
+        checkUser(userId);
+        PageCursor pageCursor = PageCursor.decode(cursor, 2);
+        LocalDateTime created = pageCursor == null ? LocalDateTime.of(1970, 1, 1, 0, 0) : pageCursor.getDateTime(0);
+        long afterId = pageCursor == null ? 0 : pageCursor.getLong(1);
+        List<ItemRequestDtoOut> result = itemRequestStorage
+                .findAllByRequesterIdIsNotAfter(userId, created, afterId, PageRequest.of(0, size)).stream()
+                .map(ItemRequestMapper::toItemRequestDtoOut).collect(Collectors.toList());
+        addRequestsItems(result);
+        log.info("Item requests page after cursor {}", cursor);
+        return CursorPage.of(result, size, request -> PageCursor.encode(request.getCreated(), request.getId()));
+    }
+
     private User getUser(Long userId) {
         return userStorage.findById(userId)
                 .orElseThrow(() -> new UserNotFoundException(String.format("User %d not found", userId)));
     }
 
+    private void checkUser(Long userId) {
+        if (!userStorage.userExists(userId)) {
+            throw new UserNotFoundException(String.format("User %d not found", userId));
+        }
+    }
+
     private void addRequestsItems(List<ItemRequestDtoOut> list) {
         Map<Long, ItemRequestDtoOut> requests = list.stream()
                 .collect(Collectors.toMap(ItemRequestDtoOut::getId, o -> o, (a, b) -> b)); //functionIdentity - a,b
@@ -5,6 +5,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.service.UserService;
+import ru.practicum.shareit.util.metrics.QueryBudget;
 
 import java.util.Collection;
 
@@ -28,12 +29,14 @@ public class UserController {
     }
 
     @GetMapping("/{userId}")
+    @QueryBudget(1)
     public UserDto get(@PathVariable Long userId) {
         log.info("New request to get user with id {}", userId);
         return userService.getById(userId);
     }
 
     @GetMapping
+    @QueryBudget(1)
     public Collection<UserDto> getAll() {
         log.info("New request to get list of all users.");
         return userService.getAll();
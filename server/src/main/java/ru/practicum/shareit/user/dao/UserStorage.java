@@ -3,5 +3,5 @@ package ru.practicum.shareit.user.dao;
 import org.springframework.data.jpa.repository.JpaRepository;
 import ru.practicum.shareit.user.model.User;
 
-public interface UserStorage extends JpaRepository<User, Long> {
+public interface UserStorage extends JpaRepository<User, Long>, UserStorageCustom {
 }
@@ -0,0 +1,5 @@
+package ru.practicum.shareit.user.dao;
+
+public interface UserStorageCustom {
+    boolean userExists(Long userId);
+}
@@ -0,0 +1,21 @@
+package ru.practicum.shareit.user.dao;
+
+import ru.practicum.shareit.user.model.User;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+
+public class UserStorageCustomImpl implements UserStorageCustom {
+    @PersistenceContext
+    private EntityManager entityManager;
+
+    @Override
+    public boolean userExists(Long userId) {
+        return entityManager.getEntityManagerFactory().getCache().contains(User.class, userId)
+                || !entityManager.createQuery("select u.id from User u where u.id = :id", Long.class)
+                .setParameter("id", userId)
+                .setMaxResults(1)
+                .getResultList()
+                .isEmpty();
+    }
+}
@@ -14,6 +14,4 @@ public interface UserService {
     UserDto getById(Long userId);
 
     Collection<UserDto> getAll();
-
-    void checkEmail(UserDto userDto);
 }
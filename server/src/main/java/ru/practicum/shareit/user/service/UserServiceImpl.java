@@ -2,6 +2,8 @@ package ru.practicum.shareit.user.service;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.exception.ConstraintViolationException;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.user.dao.UserStorage;
@@ -12,19 +14,20 @@ import ru.practicum.shareit.util.exception.EmailAlreadyExistException;
 import ru.practicum.shareit.util.exception.UserNotFoundException;
 
 import java.util.Collection;
-import java.util.Objects;
 import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class UserServiceImpl implements UserService {
+    private static final String UNIQUE_VIOLATION_SQL_STATE = "23505";
+    private static final String EMAIL_CONSTRAINT = "uq_user_email";
     private final UserStorage userStorage;
 
     @Override
     public UserDto add(UserDto userDto) {
         // log.info("Creating new user {}", userDto.getName());
-        User user = userStorage.save(UserMapper.toUserFromDto(userDto));
+        User user = saveUser(UserMapper.toUserFromDto(userDto));
 
         return UserMapper.toUserDto(user);
     }
@@ -39,7 +42,7 @@ public class UserServiceImpl implements UserService {
             user.setEmail(userDto.getEmail());
         }
         log.info("User with id {} has been updated", userId);
-        return UserMapper.toUserDto(userStorage.save(user));
+        return UserMapper.toUserDto(saveUser(user));
     }
 
     @Override
@@ -65,13 +68,28 @@ public class UserServiceImpl implements UserService {
                 .collect(Collectors.toList());
     }
 
-    @Override
-    public void checkEmail(UserDto userDto) {
-        if (userStorage.findAll().stream()
-                .filter(u -> !Objects.equals(u.getId(), userDto.getId()))
-                .map(User::getEmail)
-                .anyMatch(e -> e.equals(userDto.getEmail()))) {
-            throw new EmailAlreadyExistException(String.format("Email %s already in use.", userDto.getEmail()));
+    private User saveUser(User user) {
+        try {
+            return userStorage.saveAndFlush(user);
+        } catch (DataIntegrityViolationException e) {
+            if (isEmailConstraintViolation(e)) {
+                throw new EmailAlreadyExistException(String.format("Email %s already in use.", user.getEmail()));
+            }
+            throw e;
+        }
+    }
+
+    private static boolean isEmailConstraintViolation(DataIntegrityViolationException e) {
+        if (!(e.getCause() instanceof ConstraintViolationException)) {
+            return false;
         }
+        ConstraintViolationException violation = (ConstraintViolationException) e.getCause();
+        // Hibernate can't extract constraint names from H2 2.x messages, so fall back to the message itself.
+        String constraint = violation.getConstraintName() != null
+                ? violation.getConstraintName()
+                : violation.getSQLException().getMessage();
+        return UNIQUE_VIOLATION_SQL_STATE.equals(violation.getSQLState())
+                && constraint != null
+                && constraint.toLowerCase().contains(EMAIL_CONSTRAINT);
     }
 }
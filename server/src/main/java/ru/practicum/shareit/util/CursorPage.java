@@ -0,0 +1,27 @@
+package ru.practicum.shareit.util;
+
+import lombok.Data;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+import java.util.function.Function;
+
+@Data
+public class CursorPage<T> {
+    public static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    private final List<T> items;
+    private final String nextCursor;
+
+    public static <T> CursorPage<T> of(List<T> items, int size, Function<T, String> cursorOf) {
+        String nextCursor = items.size() < size ? null : cursorOf.apply(items.get(items.size() - 1));
+        return new CursorPage<>(items, nextCursor);
+    }
+
+    public ResponseEntity<List<T>> toResponseEntity() {
+        ResponseEntity.BodyBuilder builder = ResponseEntity.ok();
+        if (nextCursor != null) {
+            builder.header(NEXT_CURSOR_HEADER, nextCursor);
+        }
+        return builder.body(items);
+    }
+}
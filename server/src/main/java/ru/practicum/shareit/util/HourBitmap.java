@@ -0,0 +1,89 @@
+package ru.practicum.shareit.util;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+public class HourBitmap {
+    private static final int CONTAINER_BITS = 12;
+    private static final int CONTAINER_SIZE = 1 << CONTAINER_BITS;
+    private static final int CONTAINER_MASK = CONTAINER_SIZE - 1;
+    private static final int WORDS = CONTAINER_SIZE / Long.SIZE;
+    private static final long SECONDS_PER_HOUR = 3600;
+
+    private final NavigableMap<Long, long[]> containers = new TreeMap<>();
+
+    public static long floorHour(LocalDateTime dateTime) {
+        return Math.floorDiv(dateTime.toEpochSecond(ZoneOffset.UTC), SECONDS_PER_HOUR);
+    }
+
+    public static long ceilHour(LocalDateTime dateTime) {
+        long hour = floorHour(dateTime);
+        return toDateTime(hour).isBefore(dateTime) ? hour + 1 : hour;
+    }
+
+    public static LocalDateTime toDateTime(long hour) {
+        return LocalDateTime.ofEpochSecond(hour * SECONDS_PER_HOUR, 0, ZoneOffset.UTC);
+    }
+
+    public synchronized void set(long from, long to) {
+        long hour = from;
+        while (hour < to) {
+            long key = hour >> CONTAINER_BITS;
+            long[] words = containers.computeIfAbsent(key, k -> new long[WORDS]);
+            int bit = (int) (hour & CONTAINER_MASK);
+            int end = (int) Math.min(CONTAINER_SIZE, to - (key << CONTAINER_BITS));
+            while (bit < end) {
+                int word = bit / Long.SIZE;
+                int last = Math.min(end, (word + 1) * Long.SIZE);
+                long mask = -1L >>> (Long.SIZE - (last - bit)) << (bit % Long.SIZE);
+                words[word] |= mask;
+                bit = last;
+            }
+            hour = (key + 1) << CONTAINER_BITS;
+        }
+    }
+
+    public synchronized long nextSetBit(long from) {
+        long key = from >> CONTAINER_BITS;
+        for (Map.Entry<Long, long[]> container : containers.tailMap(key, true).entrySet()) {
+            int start = container.getKey() == key ? (int) (from & CONTAINER_MASK) : 0;
+            long[] words = container.getValue();
+            for (int word = start / Long.SIZE; word < WORDS; word++) {
+                long bits = words[word];
+                if (word == start / Long.SIZE) {
+                    bits &= -1L << (start % Long.SIZE);
+                }
+                if (bits != 0) {
+                    return (container.getKey() << CONTAINER_BITS) + (long) word * Long.SIZE
+                            + Long.numberOfTrailingZeros(bits);
+                }
+            }
+        }
+        return Long.MAX_VALUE;
+    }
+
+    public synchronized long nextClearBit(long from) {
+        long key = from >> CONTAINER_BITS;
+        int start = (int) (from & CONTAINER_MASK);
+        while (true) {
+            long[] words = containers.get(key);
+            if (words == null) {
+                return (key << CONTAINER_BITS) + start;
+            }
+            for (int word = start / Long.SIZE; word < WORDS; word++) {
+                long bits = ~words[word];
+                if (word == start / Long.SIZE) {
+                    bits &= -1L << (start % Long.SIZE);
+                }
+                if (bits != 0) {
+                    return (key << CONTAINER_BITS) + (long) word * Long.SIZE + Long.numberOfTrailingZeros(bits);
+                }
+            }
+            key++;
+            start = 0;
+        }
+    }
+}
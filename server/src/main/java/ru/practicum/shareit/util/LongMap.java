@@ -0,0 +1,113 @@
+package ru.practicum.shareit.util;
+
+import java.util.Collection;
+import java.util.Objects;
+import java.util.function.LongFunction;
+import java.util.function.ToLongFunction;
+
+public class LongMap<V> {
+    private static final int MIN_CAPACITY = 8;
+    private static final long GOLDEN_RATIO = 0x9E3779B97F4A7C15L;
+
+    private long[] keys;
+    private Object[] values;
+    private int size;
+    private int shift;
+
+    public LongMap(int expectedSize) {
+        int capacity = MIN_CAPACITY;
+        while (capacity * 3 < expectedSize * 4) {
+            capacity <<= 1;
+        }
+        allocate(capacity);
+    }
+
+    public static <T> LongMap<T> byKey(Collection<T> elements, ToLongFunction<T> key) {
+        LongMap<T> map = new LongMap<>(elements.size());
+        for (T element : elements) {
+            map.putIfAbsent(key.applyAsLong(element), element);
+        }
+        return map;
+    }
+
+    @SuppressWarnings("unchecked")
+    public V get(long key) {
+        int index = indexOf(key);
+        return index < 0 ? null : (V) values[index];
+    }
+
+    public V getOrDefault(long key, V defaultValue) {
+        V value = get(key);
+        return value == null ? defaultValue : value;
+    }
+
+    public void put(long key, V value) {
+        Objects.requireNonNull(value);
+        int index = slot(key);
+        if (values[index] == null) {
+            keys[index] = key;
+            if (++size * 4 > values.length * 3) {
+                values[index] = value;
+                rehash();
+                return;
+            }
+        }
+        values[index] = value;
+    }
+
+    public void putIfAbsent(long key, V value) {
+        if (indexOf(key) < 0) {
+            put(key, value);
+        }
+    }
+
+    public V computeIfAbsent(long key, LongFunction<V> mapping) {
+        V value = get(key);
+        if (value == null) {
+            value = mapping.apply(key);
+            put(key, value);
+        }
+        return value;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    private int indexOf(long key) {
+        int index = slot(key);
+        return values[index] == null ? -1 : index;
+    }
+
+    private int slot(long key) {
+        int mask = values.length - 1;
+        int index = (int) ((key * GOLDEN_RATIO) >>> shift);
+        while (values[index] != null && keys[index] != key) {
+            index = (index + 1) & mask;
+        }
+        return index;
+    }
+
+    private void rehash() {
+        long[] oldKeys = keys;
+        Object[] oldValues = values;
+        allocate(values.length << 1);
+        for (int i = 0; i < oldValues.length; i++) {
+            if (oldValues[i] != null) {
+                int index = slot(oldKeys[i]);
+                keys[index] = oldKeys[i];
+                values[index] = oldValues[i];
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new Object[capacity];
+        shift = Long.numberOfLeadingZeros(capacity - 1);
+    }
+}
@@ -0,0 +1,68 @@
+package ru.practicum.shareit.util;
+
+import ru.practicum.shareit.util.exception.BadRequestException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.stream.Collectors;
+
+public class PageCursor {
+    private static final String SEPARATOR = "|";
+    private final String[] keys;
+
+    private PageCursor(String[] keys) {
+        this.keys = keys;
+    }
+
+    public static String encode(Object... keys) {
+        String raw = Arrays.stream(keys).map(String::valueOf).collect(Collectors.joining(SEPARATOR));
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public static PageCursor decode(String cursor, int keysCount) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        String[] keys;
+        try {
+            keys = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8)
+                    .split("\\" + SEPARATOR, -1);
+        } catch (IllegalArgumentException e) {
+            throw invalid(cursor);
+        }
+        if (keys.length != keysCount) {
+            throw invalid(cursor);
+        }
+        return new PageCursor(keys);
+    }
+
+    public long getLong(int index) {
+        try {
+            return Long.parseLong(keys[index]);
+        } catch (NumberFormatException e) {
+            throw invalid(keys[index]);
+        }
+    }
+
+    public int getInt(int index) {
+        try {
+            return Integer.parseInt(keys[index]);
+        } catch (NumberFormatException e) {
+            throw invalid(keys[index]);
+        }
+    }
+
+    public LocalDateTime getDateTime(int index) {
+        try {
+            return LocalDateTime.parse(keys[index]);
+        } catch (RuntimeException e) {
+            throw invalid(keys[index]);
+        }
+    }
+
+    private static BadRequestException invalid(String value) {
+        return new BadRequestException("Invalid cursor: " + value);
+    }
+}
@@ -0,0 +1,77 @@
+package ru.practicum.shareit.util.metrics;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.http.server.ServletServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerInterceptor;
+import org.springframework.web.servlet.ModelAndView;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+import ru.practicum.shareit.util.exception.QueryBudgetExceededException;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+
+import static ru.practicum.shareit.util.metrics.StatementCountFilter.QUERY_COUNT_HEADER;
+
+@Slf4j
+@ControllerAdvice
+public class QueryBudgetAdvice implements ResponseBodyAdvice<Object>, HandlerInterceptor {
+    private static final String CHECKED_ATTRIBUTE = QueryBudgetAdvice.class.getName() + ".CHECKED";
+
+    private final boolean enforceBudget;
+
+    public QueryBudgetAdvice(@Value("${shareit.query-budget.enforce:false}") boolean enforceBudget) {
+        this.enforceBudget = enforceBudget;
+    }
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        if (request instanceof ServletServerHttpRequest && response instanceof ServletServerHttpResponse) {
+            check(((ServletServerHttpRequest) request).getServletRequest(),
+                    ((ServletServerHttpResponse) response).getServletResponse(),
+                    returnType.getMethodAnnotation(QueryBudget.class));
+        }
+        return body;
+    }
+
+    @Override
+    public void postHandle(HttpServletRequest request, HttpServletResponse response, Object handler,
+                           ModelAndView modelAndView) {
+        if (handler instanceof HandlerMethod && !response.isCommitted()) {
+            check(request, response, ((HandlerMethod) handler).getMethodAnnotation(QueryBudget.class));
+        }
+    }
+
+    private void check(HttpServletRequest request, HttpServletResponse response, QueryBudget budget) {
+        if (request.getAttribute(CHECKED_ATTRIBUTE) != null) {
+            return;
+        }
+        request.setAttribute(CHECKED_ATTRIBUTE, true);
+        int count = StatementCounter.getCount();
+        response.setIntHeader(QUERY_COUNT_HEADER, count);
+        if (budget == null || count <= budget.value()) {
+            return;
+        }
+        String message = String.format("%s %s executed %d SQL statements, budget is %d.",
+                request.getMethod(), StatementCountFilter.getUri(request), count, budget.value());
+        if (enforceBudget) {
+            throw new QueryBudgetExceededException(message);
+        }
+        log.warn(message);
+    }
+}
@@ -0,0 +1,52 @@
+package ru.practicum.shareit.util.metrics;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import javax.servlet.FilterChain;
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+
+@Component
+public class StatementCountFilter extends OncePerRequestFilter {
+    public static final String METRIC_NAME = "hibernate.statements.per.request";
+    public static final String QUERY_COUNT_HEADER = "X-Query-Count";
+
+    private final ObjectProvider<MeterRegistry> meterRegistry;
+
+    public StatementCountFilter(ObjectProvider<MeterRegistry> meterRegistry) {
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        StatementCounter.reset();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            int count = StatementCounter.getCount();
+            StatementCounter.reset();
+            meterRegistry.ifAvailable(registry -> record(request, registry, count));
+        }
+    }
+
+    static String getUri(HttpServletRequest request) {
+        Object uri = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return uri != null ? uri.toString() : "UNKNOWN";
+    }
+
+    private void record(HttpServletRequest request, MeterRegistry registry, int count) {
+        DistributionSummary.builder(METRIC_NAME)
+                .tag("method", request.getMethod())
+                .tag("uri", getUri(request))
+                .register(registry)
+                .record(count);
+    }
+}
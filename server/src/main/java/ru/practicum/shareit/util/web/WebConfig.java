@@ -0,0 +1,25 @@
+package ru.practicum.shareit.util.web;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.web.filter.ShallowEtagHeaderFilter;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import ru.practicum.shareit.util.metrics.QueryBudgetAdvice;
+
+@Configuration
+@RequiredArgsConstructor
+public class WebConfig implements WebMvcConfigurer {
+    private final QueryBudgetAdvice queryBudgetAdvice;
+
+    @Bean
+    public ShallowEtagHeaderFilter etagFilter() {
+        return new ShallowEtagHeaderFilter();
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(queryBudgetAdvice);
+    }
+}
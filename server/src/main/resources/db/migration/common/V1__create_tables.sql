@@ -1,9 +1,3 @@
-drop table if exists comments;
-drop table if exists bookings;
-drop table if exists items;
-drop table if exists requests;
-drop table if exists users;
-
 create TABLE IF NOT EXISTS users (
                                      id BIGINT GENERATED BY DEFAULT AS IDENTITY NOT NULL,
                                      name VARCHAR(200) NOT NULL,
@@ -43,4 +37,4 @@ create TABLE IF NOT EXISTS bookings (
                                         booker_id BIGINT NOT NULL REFERENCES users(id),
                                         status VARCHAR NOT NULL,
                                         CONSTRAINT pk_bookings PRIMARY KEY (id)
-);
\ No newline at end of file
+);
@@ -0,0 +1,9 @@
+create INDEX IF NOT EXISTS idx_items_owner ON items (owner_id, id);
+create INDEX IF NOT EXISTS idx_items_request ON items (request_id);
+create INDEX IF NOT EXISTS idx_requests_requester_created ON requests (requester_id, created);
+create INDEX IF NOT EXISTS idx_requests_created ON requests (created, id);
+create INDEX IF NOT EXISTS idx_comments_item_created ON comments (item_id, created);
+create INDEX IF NOT EXISTS idx_bookings_booker_start ON bookings (booker_id, start_date, id);
+create INDEX IF NOT EXISTS idx_bookings_booker_status_start ON bookings (booker_id, status, start_date);
+create INDEX IF NOT EXISTS idx_bookings_item_start ON bookings (item_id, start_date, id);
+create INDEX IF NOT EXISTS idx_bookings_item_status_start ON bookings (item_id, status, start_date);
@@ -0,0 +1,4 @@
+create EXTENSION IF NOT EXISTS pg_trgm;
+
+create INDEX IF NOT EXISTS idx_items_name_trgm ON items USING gin (lower(name) gin_trgm_ops);
+create INDEX IF NOT EXISTS idx_items_description_trgm ON items USING gin (lower(description) gin_trgm_ops);
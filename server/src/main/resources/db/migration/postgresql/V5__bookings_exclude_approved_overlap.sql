@@ -0,0 +1,4 @@
+create EXTENSION IF NOT EXISTS btree_gist;
+
+alter table bookings add CONSTRAINT ex_bookings_item_approved_overlap
+    EXCLUDE USING gist (item_id WITH =, tsrange(start_date, end_date) WITH &&) WHERE (status = 'APPROVED');
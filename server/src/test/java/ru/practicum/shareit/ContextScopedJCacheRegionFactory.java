@@ -0,0 +1,24 @@
+package ru.practicum.shareit;
+
+import org.hibernate.cache.jcache.internal.JCacheRegionFactory;
+
+import javax.cache.spi.CachingProvider;
+
+/**
+ * Gives every session factory its own JCache {@code CacheManager}. Test contexts share one JVM, and with the
+ * default class loader they would also share cache regions across their separate H2 databases, and one
+ * context closing would close the regions the others still use. The manager is keyed by a class loader that
+ * only delegates to the default one, so the regular cache configuration still applies.
+ */
+public class ContextScopedJCacheRegionFactory extends JCacheRegionFactory {
+    private ClassLoader classLoader;
+
+    @Override
+    protected synchronized ClassLoader getClassLoader(CachingProvider cachingProvider) {
+        if (classLoader == null) {
+            classLoader = new ClassLoader(super.getClassLoader(cachingProvider)) {
+            };
+        }
+        return classLoader;
+    }
+}
@@ -0,0 +1,44 @@
+package ru.practicum.shareit;
+
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.util.HourBitmap;
+
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class HourBitmapTest {
+    @Test
+    void setAcrossContainersTest() {
+        HourBitmap bitmap = new HourBitmap();
+        bitmap.set(4000, 8300);
+        assertEquals(4000, bitmap.nextSetBit(0));
+        assertEquals(5000, bitmap.nextSetBit(5000));
+        assertEquals(8300, bitmap.nextClearBit(4000));
+        assertEquals(3999, bitmap.nextClearBit(3999));
+        assertEquals(Long.MAX_VALUE, bitmap.nextSetBit(8300));
+    }
+
+    @Test
+    void nextBitsBetweenRangesTest() {
+        HourBitmap bitmap = new HourBitmap();
+        bitmap.set(10, 20);
+        bitmap.set(63, 65);
+        bitmap.set(-5, -1);
+        assertEquals(-5, bitmap.nextSetBit(-100));
+        assertEquals(-1, bitmap.nextClearBit(-5));
+        assertEquals(10, bitmap.nextSetBit(-1));
+        assertEquals(20, bitmap.nextClearBit(12));
+        assertEquals(63, bitmap.nextSetBit(20));
+        assertEquals(65, bitmap.nextClearBit(63));
+    }
+
+    @Test
+    void hourRoundingTest() {
+        LocalDateTime dateTime = LocalDateTime.of(2030, 1, 1, 10, 30);
+        long hour = HourBitmap.floorHour(dateTime);
+        assertEquals(hour + 1, HourBitmap.ceilHour(dateTime));
+        assertEquals(LocalDateTime.of(2030, 1, 1, 10, 0), HourBitmap.toDateTime(hour));
+        assertEquals(hour, HourBitmap.ceilHour(HourBitmap.toDateTime(hour)));
+    }
+}
@@ -0,0 +1,50 @@
+package ru.practicum.shareit;
+
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.util.LongMap;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LongMapTest {
+    @Test
+    void putAndGetAcrossRehashTest() {
+        LongMap<String> map = new LongMap<>(0);
+        for (long key = -500; key <= 500; key++) {
+            map.put(key, "value" + key);
+        }
+        assertEquals(1001, map.size());
+        for (long key = -500; key <= 500; key++) {
+            assertEquals("value" + key, map.get(key));
+        }
+        assertNull(map.get(501));
+        assertEquals("default", map.getOrDefault(Long.MAX_VALUE, "default"));
+    }
+
+    @Test
+    void putOverwritesAndPutIfAbsentKeepsFirstTest() {
+        LongMap<String> map = new LongMap<>(4);
+        map.put(1, "first");
+        map.putIfAbsent(1, "second");
+        assertEquals("first", map.get(1));
+        map.put(1, "third");
+        assertEquals("third", map.get(1));
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    void byKeyAndComputeIfAbsentTest() {
+        LongMap<String> map = LongMap.byKey(List.of("a", "bb", "cc"), String::length);
+        assertEquals(2, map.size());
+        assertEquals("bb", map.get(2));
+
+        LongMap<List<String>> groups = new LongMap<>(2);
+        for (String value : List.of("a", "bb", "cc")) {
+            groups.computeIfAbsent(value.length(), length -> new ArrayList<>()).add(value);
+        }
+        assertEquals(List.of("bb", "cc"), groups.get(2));
+        assertTrue(new LongMap<>(0).isEmpty());
+    }
+}
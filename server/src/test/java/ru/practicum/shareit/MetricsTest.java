@@ -0,0 +1,86 @@
+package ru.practicum.shareit;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.metrics.AutoConfigureMetrics;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.user.dao.UserStorage;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.util.metrics.StatementCountFilter;
+
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureMetrics
+class MetricsTest {
+    @Autowired
+    private MockMvc mvc;
+    @Autowired
+    private MeterRegistry meterRegistry;
+    @Autowired
+    private UserStorage userStorage;
+
+    @Test
+    void recordsStatementsPerRequestTest() throws Exception {
+        mvc.perform(get("/users")).andExpect(status().isOk());
+        DistributionSummary summary = usersSummary();
+        assertNotNull(summary);
+        long count = summary.count();
+        double total = summary.totalAmount();
+
+        mvc.perform(get("/users")).andExpect(status().isOk());
+
+        assertEquals(count + 1, summary.count());
+        assertEquals(total + 1, summary.totalAmount());
+    }
+
+    @Test
+    void exposesPrometheusEndpointTest() throws Exception {
+        mvc.perform(get("/users")).andExpect(status().isOk());
+
+        mvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andExpect(content().string(containsString("http_server_requests_seconds_bucket")))
+                .andExpect(content().string(containsString("spring_data_repository_invocations_seconds")))
+                .andExpect(content().string(containsString("hibernate_statements_per_request")))
+                .andExpect(content().string(containsString("hibernate_statements_total")));
+    }
+
+    @Test
+    void countsSecondLevelCacheHitsTest() {
+        User user = userStorage.save(User.builder().name("cached").email("cached@mail.ru").build());
+        userStorage.findById(user.getId());
+        double hits = usersCacheRequests("hit");
+        double misses = usersCacheRequests("miss");
+
+        userStorage.findById(user.getId());
+
+        assertEquals(hits + 1, usersCacheRequests("hit"));
+        assertEquals(misses, usersCacheRequests("miss"));
+    }
+
+    private double usersCacheRequests(String result) {
+        return meterRegistry.get("hibernate.second.level.cache.requests")
+                .tag("region", "users")
+                .tag("result", result)
+                .functionCounter()
+                .count();
+    }
+
+    private DistributionSummary usersSummary() {
+        return meterRegistry.find(StatementCountFilter.METRIC_NAME)
+                .tag("uri", "/users")
+                .tag("method", "GET")
+                .summary();
+    }
+}
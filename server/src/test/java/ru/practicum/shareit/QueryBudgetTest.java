@@ -0,0 +1,111 @@
+package ru.practicum.shareit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockHttpServletRequestBuilder;
+import org.springframework.web.method.HandlerMethod;
+import ru.practicum.shareit.util.exception.QueryBudgetExceededException;
+import ru.practicum.shareit.util.metrics.QueryBudget;
+import ru.practicum.shareit.util.metrics.QueryBudgetAdvice;
+import ru.practicum.shareit.util.metrics.StatementCounter;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static ru.practicum.shareit.util.metrics.StatementCountFilter.QUERY_COUNT_HEADER;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class QueryBudgetTest {
+    private static final String HEADER = "X-Sharer-User-Id";
+    private static final int ITEMS = 8;
+
+    @Autowired
+    private MockMvc mvc;
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @BeforeEach
+    void seed() {
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 1; i <= ITEMS + 2; i++) {
+            jdbcTemplate.update("insert into users (id, name, email) values (?, ?, ?)", i, "user" + i,
+                    "user" + i + "@mail.ru");
+        }
+        jdbcTemplate.update("insert into requests (id, description, requester_id, created) values (1, 'request', 2, ?)",
+                Timestamp.valueOf(now));
+        for (int i = 1; i <= ITEMS; i++) {
+            jdbcTemplate.update("insert into items (id, name, description, available, owner_id, request_id) " +
+                    "values (?, ?, 'description', true, 1, 1), (?, ?, 'description', true, ?, null)",
+                    i, "item" + i, ITEMS + i, "item" + (ITEMS + i), i + 2);
+            jdbcTemplate.update("insert into bookings (start_date, end_date, item_id, booker_id, status) " +
+                    "values (?, ?, ?, 2, 'APPROVED'), (?, ?, ?, ?, 'APPROVED'), (?, ?, ?, 2, 'WAITING')",
+                    Timestamp.valueOf(now.minusDays(2)), Timestamp.valueOf(now.minusDays(1)), i,
+                    Timestamp.valueOf(now.plusDays(1)), Timestamp.valueOf(now.plusDays(2)), i, i + 2,
+                    Timestamp.valueOf(now.plusDays(1)), Timestamp.valueOf(now.plusDays(2)), ITEMS + i);
+            jdbcTemplate.update("insert into comments (text, item_id, author_id, created) values ('comment', ?, ?, ?)",
+                    i, i + 2, Timestamp.valueOf(now));
+        }
+    }
+
+    @Test
+    void endpointsStayWithinQueryBudgetTest() throws Exception {
+        perform(get("/items/1").header(HEADER, 1));
+        perform(get("/bookings/1").header(HEADER, 1));
+        perform(get("/requests").header(HEADER, 2));
+        perform(get("/requests/all").header(HEADER, 1));
+        perform(get("/requests/all").param("cursor", "").header(HEADER, 1));
+        perform(get("/requests/1").header(HEADER, 1));
+        perform(get("/users"));
+        perform(get("/users/1"));
+        perform(get("/bookings").header(HEADER, 2));
+        perform(get("/bookings").param("state", "FUTURE").header(HEADER, 2));
+        perform(get("/bookings").param("cursor", "").header(HEADER, 2));
+        perform(get("/bookings/owner").header(HEADER, 1));
+        perform(get("/bookings/owner").param("state", "PAST").header(HEADER, 1));
+        perform(get("/bookings/owner").param("cursor", "").header(HEADER, 1));
+    }
+
+    @Test
+    void enforceQueryBudgetTest() throws Exception {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/budgeted");
+        HandlerMethod handler = new HandlerMethod(this, getClass().getDeclaredMethod("budgeted"));
+        StatementCounter.reset();
+        new StatementCounter().inspect("select 1");
+        new StatementCounter().inspect("select 2");
+        MockHttpServletResponse response = new MockHttpServletResponse();
+
+        assertThrows(QueryBudgetExceededException.class, () -> new QueryBudgetAdvice(true)
+                .postHandle(request, response, handler, null));
+        assertEquals("2", response.getHeader(QUERY_COUNT_HEADER));
+        assertFalse(response.isCommitted());
+        new QueryBudgetAdvice(false).postHandle(new MockHttpServletRequest("GET", "/budgeted"),
+                new MockHttpServletResponse(), handler, null);
+        StatementCounter.reset();
+    }
+
+    @QueryBudget(1)
+    void budgeted() {
+    }
+
+    private void perform(MockHttpServletRequestBuilder request) throws Exception {
+        mvc.perform(request)
+                .andExpect(status().isOk())
+                .andExpect(header().exists(QUERY_COUNT_HEADER));
+    }
+}
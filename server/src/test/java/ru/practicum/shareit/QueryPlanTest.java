@@ -0,0 +1,138 @@
+package ru.practicum.shareit;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.junit.jupiter.Container;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import ru.practicum.shareit.booking.dao.BookingPageFilter;
+import ru.practicum.shareit.booking.dao.BookingStorage;
+import ru.practicum.shareit.item.dao.CommentStorage;
+import ru.practicum.shareit.item.dao.ItemStorage;
+import ru.practicum.shareit.item.model.Item;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.data.domain.Sort.Direction.ASC;
+import static org.springframework.data.domain.Sort.Direction.DESC;
+import static ru.practicum.shareit.util.Status.*;
+
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers(disabledWithoutDocker = true)
+class QueryPlanTest {
+    private static final int USERS = 10_000;
+    private static final int ITEMS = 50_000;
+    private static final int BOOKINGS = 200_000;
+    private static final int COMMENTS = 50_000;
+
+    @Container
+    private static final PostgreSQLContainer<?> POSTGRES = new PostgreSQLContainer<>("postgres:13.7-alpine");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private BookingStorage bookingStorage;
+    @Autowired
+    private ItemStorage itemStorage;
+    @Autowired
+    private CommentStorage commentStorage;
+
+    @DynamicPropertySource
+    static void postgresProperties(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", POSTGRES::getJdbcUrl);
+        registry.add("spring.datasource.username", POSTGRES::getUsername);
+        registry.add("spring.datasource.password", POSTGRES::getPassword);
+        registry.add("spring.datasource.driverClassName", POSTGRES::getDriverClassName);
+        registry.add("spring.flyway.locations",
+                () -> "classpath:db/migration/common,classpath:db/migration/postgresql");
+    }
+
+    @Test
+    void storageQueriesDoNotScanWholeTables() {
+        seed();
+        LocalDateTime now = LocalDateTime.now();
+        PageRequest byStart = PageRequest.of(0, 10, Sort.by(DESC, "start"));
+        PageRequest byId = PageRequest.of(0, 10, Sort.by(ASC, "id"));
+        List<Item> items = itemStorage.findAllById(List.of(1L, 2L, 3L, 4L, 5L, 6L, 7L, 8L, 9L, 10L));
+
+        Map<String, Runnable> queries = new LinkedHashMap<>();
+        queries.put("findAllByBookerId", () -> bookingStorage.findAllByBookerId(1L, byStart));
+        queries.put("findAllByBookerIdAndStatus", () -> bookingStorage.findAllByBookerIdAndStatus(1L, WAITING, byStart));
+        queries.put("findAllByBookerIdAndStateCurrent", () -> bookingStorage.findAllByBookerIdAndStateCurrent(1L, byStart));
+        queries.put("findAllByBookerIdAndStatePast", () -> bookingStorage.findAllByBookerIdAndStatePast(1L, byStart));
+        queries.put("findAllByBookerIdAndStateFuture", () -> bookingStorage.findAllByBookerIdAndStateFuture(1L, byStart));
+        queries.put("findAllByOwnerId", () -> bookingStorage.findAllByOwnerId(1L, byStart));
+        queries.put("findAllByOwnerIdAndStatus", () -> bookingStorage.findAllByOwnerIdAndStatus(1L, WAITING, byStart));
+        queries.put("findAllByOwnerIdAndStateCurrent", () -> bookingStorage.findAllByOwnerIdAndStateCurrent(1L, byStart));
+        queries.put("findAllByOwnerIdAndStatePast", () -> bookingStorage.findAllByOwnerIdAndStatePast(1L, byStart));
+        queries.put("findAllByOwnerIdAndStateFuture", () -> bookingStorage.findAllByOwnerIdAndStateFuture(1L, byStart));
+        queries.put("findAllByBookerIdAfterCursor", () -> bookingStorage.findAllByBookerIdAfterCursor(1L,
+                BookingPageFilter.of(PAST, now), PageRequest.of(0, 10)));
+        queries.put("findAllByOwnerIdAfterCursor", () -> bookingStorage.findAllByOwnerIdAfterCursor(1L,
+                BookingPageFilter.of(FUTURE, now), PageRequest.of(0, 10)));
+        queries.put("findLastByItemIn", () -> bookingStorage.findLastByItemIn(items, now, APPROVED));
+        queries.put("findNextByItemIn", () -> bookingStorage.findNextByItemIn(items, now, APPROVED));
+        queries.put("findFirstByItemIdAndStartLessThanEqualAndStatus", () -> bookingStorage
+                .findFirstByItemIdAndStartLessThanEqualAndStatus(1L, now, APPROVED, Sort.by(DESC, "end")));
+        queries.put("findFirstByItemIdAndStartAfterAndStatus", () -> bookingStorage
+                .findFirstByItemIdAndStartAfterAndStatus(1L, now, APPROVED, Sort.by(ASC, "end")));
+        queries.put("findAllByItemIdAndStatus", () -> bookingStorage.findAllByItemIdAndStatus(1L, APPROVED));
+        queries.put("existsByBookerIdAndItemIdAndStatusAndEndBefore", () -> bookingStorage
+                .existsByBookerIdAndItemIdAndStatusAndEndBefore(1L, 1L, APPROVED, now));
+        queries.put("existsByItemIdAndStatusAndStartBeforeAndEndAfter", () -> bookingStorage
+                .existsByItemIdAndStatusAndStartBeforeAndEndAfter(1L, APPROVED, now.plusDays(1), now));
+        queries.put("findAllByOwnerId (items)", () -> itemStorage.findAllByOwnerId(1L, byId));
+        queries.put("findAllByOwnerIdAndIdGreaterThan", () -> itemStorage
+                .findAllByOwnerIdAndIdGreaterThan(1L, 0L, byId));
+        queries.put("search", () -> itemStorage.search("item4242", PageRequest.of(0, 10)));
+        queries.put("searchAfter", () -> itemStorage.searchAfter("item4242", 0, 0L, PageRequest.of(0, 10)));
+        queries.put("findLatestByItemIdIn", () -> commentStorage.findLatestByItemIdIn(List.of(1L, 2L, 3L), 10));
+        queries.put("findAllByItemIdBefore", () -> commentStorage.findAllByItemIdBefore(1L, now, Long.MAX_VALUE,
+                PageRequest.of(0, 10, Sort.by(DESC, "created").and(Sort.by(DESC, "id")))));
+        queries.put("searchAvailable", () -> itemStorage.searchAvailable("item4242", now, now.plusDays(1), APPROVED,
+                PageRequest.of(0, 10)));
+        queries.put("findByItemRequestId", () -> itemStorage.findByItemRequestId(1L));
+        queries.put("searchByRequestIds", () -> itemStorage.searchByRequestIds(List.of(1L, 2L)));
+
+        queries.forEach(this::assertNoSequentialScan);
+    }
+
+    private void assertNoSequentialScan(String name, Runnable query) {
+        long before = sequentialScans();
+        query.run();
+        assertEquals(before, sequentialScans(), name + " fell back to a sequential scan");
+    }
+
+    private long sequentialScans() {
+        Long scans = jdbcTemplate.queryForObject("select coalesce(sum(seq_scan), 0) from pg_stat_xact_user_tables " +
+                "where relname in ('users', 'items', 'bookings', 'comments', 'requests')", Long.class);
+        return scans == null ? 0 : scans;
+    }
+
+    private void seed() {
+        jdbcTemplate.update("insert into users (name, email) " +
+                "select 'user' || g, 'user' || g || '@mail.ru' from generate_series(1, ?) g", USERS);
+        jdbcTemplate.update("insert into items (name, description, available, owner_id) " +
+                "select 'item' || g, 'description ' || g, true, g % ? + 1 from generate_series(1, ?) g", USERS, ITEMS);
+        jdbcTemplate.update("insert into bookings (start_date, end_date, item_id, booker_id, status) " +
+                "select now() + (g % 1000 - 500) * interval '1 hour', now() + (g % 1000 - 499) * interval '1 hour', " +
+                "g % ? + 1, g % ? + 1, (array['WAITING', 'APPROVED', 'REJECTED'])[g % 3 + 1] " +
+                "from generate_series(1, ?) g", ITEMS, USERS, BOOKINGS);
+        jdbcTemplate.update("insert into comments (text, item_id, author_id, created) " +
+                "select 'comment ' || g, g % ? + 1, g % ? + 1, now() - g * interval '1 minute' " +
+                "from generate_series(1, ?) g", ITEMS, USERS, COMMENTS);
+        jdbcTemplate.execute("analyze");
+    }
+}
@@ -16,6 +16,7 @@ import ru.practicum.shareit.booking.dto.BookingDtoOut;
 import ru.practicum.shareit.booking.service.BookingService;
 import ru.practicum.shareit.item.dto.ItemDtoShort;
 import ru.practicum.shareit.user.dto.UserDtoShort;
+import ru.practicum.shareit.util.CursorPage;
 import ru.practicum.shareit.util.Status;
 
 import java.time.LocalDateTime;
@@ -24,6 +25,7 @@ import java.util.Collections;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -139,4 +141,17 @@ public class BookingControllerMockTest {
                 .andExpect(jsonPath("$[0].item.name").value("item1"))
                 .andExpect(jsonPath("$[0].booker.name").value("user1"));
     }
+
+    @Test
+    @SneakyThrows
+    public void getAllByUserAfterCursorTest() {
+        when(bookingService.getAllByUserAfter(anyLong(), any(Status.class), anyString(), anyInt()))
+                .thenReturn(new CursorPage<>(Collections.singletonList(booking), "next"));
+        mvc.perform(get("/bookings?cursor=&size=1")
+                        .accept(MediaType.APPLICATION_JSON)
+                        .header("X-Sharer-User-Id", 1L))
+                .andExpect(status().isOk())
+                .andExpect(header().string(CursorPage.NEXT_CURSOR_HEADER, "next"))
+                .andExpect(jsonPath("$[0].item.id").value(1L));
+    }
 }
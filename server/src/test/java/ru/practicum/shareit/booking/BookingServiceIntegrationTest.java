@@ -7,6 +7,7 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import ru.practicum.shareit.booking.dto.BookingBatchResultDto;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingDtoOut;
 import ru.practicum.shareit.booking.mapper.BookingMapper;
@@ -15,14 +16,18 @@ import ru.practicum.shareit.booking.service.BookingService;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.util.Status;
+import ru.practicum.shareit.util.exception.BadRequestException;
 
 import javax.persistence.EntityManager;
 import javax.persistence.TypedQuery;
 import javax.transaction.Transactional;
 import java.time.LocalDateTime;
+import java.util.Collections;
 import java.util.List;
 
 import static org.assertj.core.api.AssertionsForInterfaceTypes.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static ru.practicum.shareit.util.Status.APPROVED;
 import static ru.practicum.shareit.util.Status.WAITING;
 
 @Transactional
@@ -87,6 +92,45 @@ public class BookingServiceIntegrationTest {
         assertThat(bookings.get(0).getEnd()).isEqualTo(booking.getEnd());
     }
 
+    @Test
+    void addAllTest() {
+        User otherBooker = User.builder().name("otherBooker").email("otherBooker@mail.ru").build();
+        em.persist(otherBooker);
+        LocalDateTime start = LocalDateTime.now().plusDays(5);
+        em.persist(Booking.builder().start(start.plusDays(10)).end(start.plusDays(12)).item(item).booker(booker)
+                .status(APPROVED).build());
+        List<BookingDto> bookingDtos = List.of(
+                BookingDto.builder().itemId(item.getId()).start(start).end(start.plusDays(2)).build(),
+                BookingDto.builder().itemId(item.getId()).start(start.plusDays(1)).end(start.plusDays(3)).build(),
+                BookingDto.builder().itemId(item.getId()).start(start.plusDays(11)).end(start.plusDays(13)).build(),
+                BookingDto.builder().itemId(999L).start(start).end(start.plusDays(1)).build(),
+                BookingDto.builder().itemId(item.getId()).start(start.plusDays(1)).end(start).build());
+
+        List<BookingBatchResultDto> results = bookingService.addAll(bookingDtos, otherBooker.getId());
+
+        assertThat(results.size()).isEqualTo(5);
+        assertThat(results.get(0).getError()).isNull();
+        assertThat(results.get(1).getError()).isNull();
+        assertThat(results.get(2).getError()).isEqualTo("Item with id " + item.getId() + " is already booked for these dates.");
+        assertThat(results.get(3).getError()).isEqualTo("Item with id 999 not found.");
+        assertThat(results.get(4).getError()).isEqualTo("End date cant be before start date.");
+
+        TypedQuery<Booking> query = em.createQuery("select b from Booking b where b.booker = :booker order by b.start", Booking.class);
+        List<Booking> saved = query.setParameter("booker", otherBooker).getResultList();
+        assertThat(saved.size()).isEqualTo(2);
+        assertThat(saved.get(0).getId()).isEqualTo(results.get(0).getBooking().getId());
+        assertThat(saved.get(1).getId()).isEqualTo(results.get(1).getBooking().getId());
+        assertThat(saved.get(0).getStatus()).isEqualTo(WAITING);
+    }
+
+    @Test
+    void addAllTooLargeBatchTest() {
+        BookingDto bookingDto = BookingMapper.toBookingDto(booking);
+
+        assertThrows(BadRequestException.class,
+                () -> bookingService.addAll(Collections.nCopies(5001, bookingDto), booker.getId()));
+    }
+
 //    @Test
 //    void approveTest() {
 //        assertThat(booking).isNotNull();
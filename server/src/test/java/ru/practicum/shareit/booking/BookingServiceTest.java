@@ -1,12 +1,14 @@
 package ru.practicum.shareit.booking;
 
 import lombok.SneakyThrows;
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 import ru.practicum.shareit.booking.dao.BookingStorage;
 import ru.practicum.shareit.booking.dto.BookingDto;
 import ru.practicum.shareit.booking.dto.BookingDtoOut;
@@ -15,11 +17,13 @@ import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.service.BookingServiceImpl;
 import ru.practicum.shareit.item.dao.ItemStorage;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.service.ItemAvailability;
 import ru.practicum.shareit.user.dao.UserStorage;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.util.Status;
 import ru.practicum.shareit.util.exception.*;
 
+import java.sql.SQLException;
 import java.time.LocalDateTime;
 import java.util.Collections;
 import java.util.List;
@@ -38,6 +42,8 @@ public class BookingServiceTest {
     ItemStorage itemStorage;
     @Mock
     BookingStorage bookingStorage;
+    @Mock
+    ItemAvailability itemAvailability;
 
     @InjectMocks
     BookingServiceImpl bookingService;
@@ -313,4 +319,44 @@ public class BookingServiceTest {
         assertEquals(bookingDtoOut.getId(), bookingDto.getId());
         verify(bookingStorage).save(any());
     }
+
+    @Test
+    @SneakyThrows
+    public void addOverlappingBookingTest() {
+        when(itemStorage.findById(anyLong())).thenReturn(Optional.ofNullable(item));
+        when(userStorage.findById(anyLong())).thenReturn(Optional.ofNullable(user2));
+        when(bookingStorage.existsByItemIdAndStatusAndStartBeforeAndEndAfter(anyLong(), any(), any(), any()))
+                .thenReturn(true);
+        BadRequestException e = assertThrows(BadRequestException.class,
+                () -> bookingService.add(bookingDto, 2L));
+        assertEquals("Item with id 1 is already booked for these dates.", e.getMessage());
+        verify(bookingStorage, never()).save(any());
+    }
+
+    @Test
+    @SneakyThrows
+    public void approveOverlappingBookingTest() {
+        booking.setId(1L);
+        when(userStorage.findById(anyLong())).thenReturn(Optional.of(user));
+        when(itemStorage.findById(anyLong())).thenReturn(Optional.of(item));
+        when(bookingStorage.findById(anyLong())).thenReturn(Optional.of(booking));
+        when(bookingStorage.existsByItemIdAndStatusAndStartBeforeAndEndAfter(anyLong(), any(), any(), any()))
+                .thenReturn(true);
+        assertThrows(BadRequestException.class, () -> bookingService.approve(1L, 1L, true));
+        assertEquals(Status.WAITING, booking.getStatus());
+    }
+
+    @Test
+    @SneakyThrows
+    public void approveConcurrentOverlapTest() {
+        booking.setId(1L);
+        when(userStorage.findById(anyLong())).thenReturn(Optional.of(user));
+        when(itemStorage.findById(anyLong())).thenReturn(Optional.of(item));
+        when(bookingStorage.findById(anyLong())).thenReturn(Optional.of(booking));
+        when(bookingStorage.saveAndFlush(any())).thenThrow(new DataIntegrityViolationException("overlap",
+                new ConstraintViolationException("overlap", new SQLException("overlap", "23P01"),
+                        "ex_bookings_item_approved_overlap")));
+        BadRequestException e = assertThrows(BadRequestException.class, () -> bookingService.approve(1L, 1L, true));
+        assertEquals("Item with id 1 is already booked for these dates.", e.getMessage());
+    }
 }
@@ -0,0 +1,53 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.dao.IncorrectResultSizeDataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import ru.practicum.shareit.booking.dao.BookingStorageCustomImpl;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.user.model.User;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static ru.practicum.shareit.util.Status.WAITING;
+
+class BookingStorageCustomImplTest {
+    private final LocalDateTime start = LocalDateTime.now().plusDays(1);
+    private final User booker = new User(2L, "booker", "booker@mail.ru");
+    private final Item item = Item.builder().id(1L).name("item").description("item").available(true).build();
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void insertAllFailsOnMissingGeneratedKeysTest() throws Exception {
+        ResultSet keys = mock(ResultSet.class);
+        when(keys.next()).thenReturn(true, false);
+        when(keys.getLong(1)).thenReturn(10L);
+        PreparedStatement statement = mock(PreparedStatement.class);
+        when(statement.getGeneratedKeys()).thenReturn(keys);
+        Connection connection = mock(Connection.class);
+        when(connection.prepareStatement(anyString(), any(String[].class))).thenReturn(statement);
+        JdbcTemplate jdbcTemplate = mock(JdbcTemplate.class);
+        when(jdbcTemplate.execute(any(ConnectionCallback.class))).thenAnswer(invocation ->
+                ((ConnectionCallback<Void>) invocation.getArgument(0)).doInConnection(connection));
+        List<Booking> bookings = List.of(
+                new Booking(null, start, start.plusDays(1), item, booker, WAITING),
+                new Booking(null, start.plusDays(2), start.plusDays(3), item, booker, WAITING));
+
+        IncorrectResultSizeDataAccessException e = assertThrows(IncorrectResultSizeDataAccessException.class,
+                () -> new BookingStorageCustomImpl(jdbcTemplate).insertAll(bookings));
+        assertEquals(2, e.getExpectedSize());
+        assertEquals(1, e.getActualSize());
+    }
+}
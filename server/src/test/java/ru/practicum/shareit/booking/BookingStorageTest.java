@@ -5,8 +5,10 @@ import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
+import ru.practicum.shareit.booking.dao.BookingPageFilter;
 import ru.practicum.shareit.booking.dao.BookingStorage;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.item.dao.ItemStorage;
@@ -14,12 +16,16 @@ import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.dao.UserStorage;
 import ru.practicum.shareit.user.model.User;
 
+import java.sql.Timestamp;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
+import static ru.practicum.shareit.util.Status.ALL;
 import static ru.practicum.shareit.util.Status.APPROVED;
+import static ru.practicum.shareit.util.Status.CURRENT;
 import static ru.practicum.shareit.util.Status.FUTURE;
 
 @DataJpaTest
@@ -31,6 +37,8 @@ public class BookingStorageTest {
     private ItemStorage itemStorage;
     @Autowired
     private BookingStorage bookingStorage;
+    @Autowired
+    private TestEntityManager em;
     private User user;
     private User user2;
     private Item item;
@@ -107,19 +115,31 @@ public class BookingStorageTest {
     }
 
     @Test
-    void findAllByBookerIdAndItemIdAndStatusEqualsAndEndIsBeforeTest() {
-        assertThat(bookingStorage.findAllByBookerIdAndItemIdAndStatusEqualsAndEndIsBefore(user.getId(),
+    void existsByBookerIdAndItemIdAndStatusAndEndBeforeTest() {
+        assertThat(bookingStorage.existsByBookerIdAndItemIdAndStatusAndEndBefore(user.getId(),
                         item.getId(), APPROVED,
-                        LocalDateTime.of(2024, 5, 5, 5, 15)).size(),
-                equalTo(1));
+                        LocalDateTime.of(2024, 5, 5, 5, 15)),
+                equalTo(true));
+        assertThat(bookingStorage.existsByBookerIdAndItemIdAndStatusAndEndBefore(user2.getId(),
+                        item.getId(), APPROVED,
+                        LocalDateTime.of(2025, 5, 5, 5, 15)),
+                equalTo(false));
     }
 
     @Test
-    void findByItemInAndStartAfterAndStatusTest() {
-        assertThat(bookingStorage.findByItemInAndStartAfterAndStatus(List.of(item),
-                        LocalDateTime.of(2023, 1, 1, 1, 1),
-                        APPROVED, sort).size(),
-                equalTo(1));
+    void findNextByItemInTest() {
+        List<Booking> next = bookingStorage.findNextByItemIn(List.of(item),
+                LocalDateTime.of(2023, 1, 1, 1, 1), APPROVED);
+        assertThat(next.size(), equalTo(1));
+        assertThat(next.get(0).getId(), equalTo(booking.getId()));
+    }
+
+    @Test
+    void findLastByItemInTest() {
+        List<Booking> last = bookingStorage.findLastByItemIn(List.of(item),
+                LocalDateTime.of(2024, 1, 2, 1, 1), APPROVED);
+        assertThat(last.size(), equalTo(1));
+        assertThat(last.get(0).getId(), equalTo(booking.getId()));
     }
 
     @Test
@@ -145,4 +165,70 @@ public class BookingStorageTest {
                 .size(), equalTo(2));
     }
 
+
+    @Test
+    void existsByItemIdAndStatusAndStartBeforeAndEndAfterTest() {
+        assertThat(bookingStorage.existsByItemIdAndStatusAndStartBeforeAndEndAfter(item.getId(), APPROVED,
+                LocalDateTime.of(2024, 1, 15, 0, 0), LocalDateTime.of(2023, 12, 31, 0, 0)), equalTo(true));
+        assertThat(bookingStorage.existsByItemIdAndStatusAndStartBeforeAndEndAfter(item.getId(), APPROVED,
+                LocalDateTime.of(2024, 4, 1, 0, 0), LocalDateTime.of(2024, 3, 1, 0, 0)), equalTo(false));
+    }
+
+    @Test
+    void findAllByOwnerIdAfterCursorTest() {
+        BookingPageFilter filter = BookingPageFilter.of(ALL, LocalDateTime.now());
+        List<Booking> firstPage = bookingStorage.findAllByOwnerIdAfterCursor(user.getId(), filter,
+                PageRequest.of(0, 1));
+        assertThat(firstPage.get(0).getId(), equalTo(booking2.getId()));
+        List<Booking> secondPage = bookingStorage.findAllByOwnerIdAfterCursor(user.getId(),
+                filter.after(firstPage.get(0).getStart(), firstPage.get(0).getId()), PageRequest.of(0, 1));
+        assertThat(secondPage.get(0).getId(), equalTo(booking.getId()));
+    }
+
+    @Test
+    void stateCurrentIncludesBoundariesOnBothPathsTest() {
+        LocalDateTime now = ((Timestamp) em.getEntityManager().createNativeQuery("SELECT localtimestamp")
+                .getSingleResult()).toLocalDateTime();
+        Booking startsNow = bookingStorage.save(booking.toBuilder().id(null).start(now).end(now.plusDays(1)).build());
+        Booking endsNow = bookingStorage.save(booking.toBuilder().id(null).start(now.minusDays(1)).end(now).build());
+        List<Long> expected = List.of(startsNow.getId(), endsNow.getId());
+
+        List<Long> offset = bookingStorage.findAllByBookerIdAndStateCurrent(user.getId(), PageRequest.of(0, 10, sort))
+                .stream().map(Booking::getId).collect(Collectors.toList());
+        List<Long> cursor = bookingStorage.findAllByBookerIdAfterCursor(user.getId(),
+                        BookingPageFilter.of(CURRENT, now), PageRequest.of(0, 10))
+                .stream().map(Booking::getId).collect(Collectors.toList());
+        assertThat(offset, equalTo(expected));
+        assertThat(cursor, equalTo(expected));
+    }
+
+    @Test
+    void findAllByBookerIdAfterCursorTest() {
+        BookingPageFilter filter = BookingPageFilter.of(ALL, LocalDateTime.now());
+        assertThat(bookingStorage.findAllByBookerIdAfterCursor(user.getId(), filter, PageRequest.of(0, 10)).size(),
+                equalTo(1));
+        assertThat(bookingStorage.findAllByBookerIdAfterCursor(user.getId(),
+                filter.after(booking.getStart(), booking.getId()), PageRequest.of(0, 10)).size(), equalTo(0));
+    }
+
+    @Test
+    void findLastAndNextByItemInTest() {
+        bookingStorage.save(booking.toBuilder().id(null)
+                .start(LocalDateTime.of(2023, 1, 1, 1, 1))
+                .end(LocalDateTime.of(2023, 2, 2, 2, 2))
+                .build());
+        Booking later = bookingStorage.save(booking.toBuilder().id(null)
+                .start(LocalDateTime.of(2024, 6, 1, 1, 1))
+                .end(LocalDateTime.of(2024, 7, 2, 2, 2))
+                .build());
+        LocalDateTime now = LocalDateTime.of(2024, 3, 1, 0, 0);
+
+        List<Booking> last = bookingStorage.findLastByItemIn(List.of(item), now, APPROVED);
+        assertThat(last.size(), equalTo(1));
+        assertThat(last.get(0).getId(), equalTo(booking.getId()));
+
+        List<Booking> next = bookingStorage.findNextByItemIn(List.of(item), now, APPROVED);
+        assertThat(next.size(), equalTo(1));
+        assertThat(next.get(0).getId(), equalTo(later.getId()));
+    }
 }
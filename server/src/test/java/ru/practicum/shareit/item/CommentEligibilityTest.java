@@ -0,0 +1,48 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.booking.dao.BookingStorage;
+import ru.practicum.shareit.item.service.CommentEligibility;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static ru.practicum.shareit.util.Status.APPROVED;
+
+@ExtendWith(MockitoExtension.class)
+class CommentEligibilityTest {
+    @Mock
+    private BookingStorage bookingStorage;
+
+    private CommentEligibility commentEligibility;
+
+    @BeforeEach
+    void init() {
+        commentEligibility = new CommentEligibility(bookingStorage, 100);
+    }
+
+    @Test
+    void completedBookingIsCachedTest() {
+        when(bookingStorage.existsByBookerIdAndItemIdAndStatusAndEndBefore(eq(1L), eq(2L), eq(APPROVED), any()))
+                .thenReturn(true);
+        assertTrue(commentEligibility.canComment(1L, 2L));
+        assertTrue(commentEligibility.canComment(1L, 2L));
+        verify(bookingStorage, times(1)).existsByBookerIdAndItemIdAndStatusAndEndBefore(eq(1L), eq(2L), eq(APPROVED), any());
+    }
+
+    @Test
+    void missingBookingIsNotCachedTest() {
+        when(bookingStorage.existsByBookerIdAndItemIdAndStatusAndEndBefore(eq(1L), eq(2L), eq(APPROVED), any()))
+                .thenReturn(false, true);
+        assertFalse(commentEligibility.canComment(1L, 2L));
+        assertTrue(commentEligibility.canComment(1L, 2L));
+    }
+}
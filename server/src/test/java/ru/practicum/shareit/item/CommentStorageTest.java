@@ -6,17 +6,22 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
 import org.springframework.test.context.junit4.SpringRunner;
 import ru.practicum.shareit.item.dao.CommentStorage;
+import ru.practicum.shareit.item.dao.CommentView;
 import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.user.model.User;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.springframework.data.domain.Sort.Direction.DESC;
 
 @DataJpaTest
 @AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
@@ -51,8 +56,42 @@ class CommentStorageTest {
         em.persist(user);
         em.persist(item);
         em.persist(comment);
-        List<Comment> comments = (List<Comment>) commentStorage.findAllByItemId(item.getId());
+        List<Comment> comments = commentStorage.findAllByItemId(item.getId(), PageRequest.of(0, 10));
         assertEquals(1, comments.size());
         assertEquals(comment, comments.get(0));
     }
+
+    @Test
+    void findLatestByItemIdInTest() {
+        em.persist(user);
+        em.persist(item);
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        for (int i = 0; i < 3; i++) {
+            em.persist(new Comment(null, "text" + i, item, user, now.plusMinutes(i)));
+        }
+        List<CommentView> comments = commentStorage.findLatestByItemIdIn(List.of(item.getId(), 999L), 2);
+        assertEquals(2, comments.size());
+        assertEquals("text2", comments.get(0).getText());
+        assertEquals("text1", comments.get(1).getText());
+        assertEquals(item.getId(), comments.get(0).getItemId());
+        assertEquals("user", comments.get(0).getAuthorName());
+        assertEquals(now.plusMinutes(2), comments.get(0).getCreated());
+        assertEquals(3, comments.get(0).getTotal());
+    }
+
+    @Test
+    void findAllByItemIdBeforeTest() {
+        em.persist(user);
+        em.persist(item);
+        LocalDateTime now = LocalDateTime.now().withNano(0);
+        for (int i = 0; i < 3; i++) {
+            em.persist(new Comment(null, "text" + i, item, user, now));
+        }
+        PageRequest page = PageRequest.of(0, 2, Sort.by(DESC, "created").and(Sort.by(DESC, "id")));
+        List<Comment> first = commentStorage.findAllByItemId(item.getId(), page);
+        assertEquals(List.of("text2", "text1"), first.stream().map(Comment::getText).collect(Collectors.toList()));
+        List<Comment> second = commentStorage.findAllByItemIdBefore(item.getId(), now, first.get(1).getId(), page);
+        assertEquals(1, second.size());
+        assertEquals("text0", second.get(0).getText());
+    }
 }
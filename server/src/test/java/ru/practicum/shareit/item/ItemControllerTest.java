@@ -7,8 +7,10 @@ import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.test.annotation.DirtiesContext;
 import ru.practicum.shareit.booking.controller.BookingController;
 import ru.practicum.shareit.booking.dto.BookingDto;
+import ru.practicum.shareit.booking.dto.BookingDtoOut;
 import ru.practicum.shareit.item.controller.ItemController;
 import ru.practicum.shareit.item.dto.CommentDto;
+import ru.practicum.shareit.item.dto.FreeRangeDto;
 import ru.practicum.shareit.item.dto.ItemDto;
 import ru.practicum.shareit.item.dto.ItemDtoOut;
 import ru.practicum.shareit.request.controller.ItemRequestController;
@@ -22,6 +24,7 @@ import ru.practicum.shareit.util.exception.UserNotFoundException;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.List;
 import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -160,6 +163,50 @@ public class ItemControllerTest {
         TimeUnit.SECONDS.sleep(2);
         itemController.addComment(item.getId(), user2.getId(), comment);
         assertEquals(1, itemController.get(1L, 1L).getComments().size());
+        assertEquals(1L, itemController.get(1L, 1L).getCommentsCount());
+        assertEquals(1, itemController.getComments(item.getId(), null, 10).getBody().size());
+    }
+
+    @Test
+    void getAvailabilityTest() {
+        UserDto user = userController.add(userDto);
+        ItemDtoOut item = itemController.add(user.getId(), itemDto);
+        UserDto user2 = userController.add(userDto2);
+        LocalDateTime from = LocalDateTime.now().plusDays(1).withMinute(0).withSecond(0).withNano(0);
+        LocalDateTime to = from.plusDays(10);
+        assertEquals(List.of(new FreeRangeDto(from, to)), itemController.getAvailability(item.getId(), from, to));
+
+        BookingDtoOut booking = bookingController.add(BookingDto.builder()
+                .start(from.plusDays(2).plusMinutes(30))
+                .end(from.plusDays(3))
+                .itemId(item.getId()).build(), user2.getId());
+        bookingController.approve(booking.getId(), true, user.getId());
+        assertEquals(List.of(new FreeRangeDto(from, from.plusDays(2)), new FreeRangeDto(from.plusDays(3), to)),
+                itemController.getAvailability(item.getId(), from, to));
+        assertThrows(BadRequestException.class, () -> itemController.getAvailability(item.getId(), to, from));
+        assertThrows(ItemNotFoundException.class, () -> itemController.getAvailability(99L, from, to));
+    }
+
+    @Test
+    void searchAvailableItemTest() {
+        UserDto user = userController.add(userDto);
+        ItemDtoOut item = itemController.add(user.getId(), itemDto);
+        UserDto user2 = userController.add(userDto2);
+        LocalDateTime start = LocalDateTime.now().plusDays(1).withNano(0);
+        BookingDtoOut booking = bookingController.add(BookingDto.builder()
+                .start(start)
+                .end(start.plusDays(1))
+                .itemId(item.getId()).build(), user2.getId());
+        assertEquals(1, itemController.searchAvailableItem(itemDto.getName(), start, start.plusDays(2), 0, 10).size());
+        bookingController.approve(booking.getId(), true, user.getId());
+        assertEquals(0, itemController.searchAvailableItem(itemDto.getName(), start, start.plusDays(2), 0, 10).size());
+        assertEquals(1, itemController.searchAvailableItem(itemDto.getName(), start.plusDays(1), start.plusDays(2), 0, 10).size());
+        assertThrows(BadRequestException.class, () -> itemController.searchAvailableItem("name", start, start, 0, 10));
+    }
+
+    @Test
+    void getCommentsOfWrongItem() {
+        assertThrows(ItemNotFoundException.class, () -> itemController.getComments(1L, null, 10));
     }
 
     @Test
@@ -14,6 +14,7 @@ import ru.practicum.shareit.item.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.service.ItemService;
 import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.util.CursorPage;
 
 import javax.persistence.EntityManager;
 import javax.persistence.TypedQuery;
@@ -86,6 +87,25 @@ public class ItemServiceIntegrationTest {
         assertThat(items).isEmpty();
     }
 
+    @Test
+    void searchTreatsLikeWildcardsLiterallyTest() {
+        Item percentItem = Item.builder().name("100% cotton").available(true).description("towel").owner(owner).build();
+        Item underscoreItem = Item.builder().name("snake_case").available(true).description("sign").owner(owner).build();
+        Item wildcardMatch = Item.builder().name("three cups").available(true).description("set").owner(owner).build();
+        em.persist(percentItem);
+        em.persist(underscoreItem);
+        em.persist(wildcardMatch);
+
+        List<ItemDtoOut> items = (List<ItemDtoOut>) itemService.search("%", 0, 10);
+        assertEquals(1, items.size());
+        assertEquals(percentItem.getId(), items.get(0).getId());
+
+        CursorPage<ItemDtoOut> page = itemService.searchAfter("e_c", null, 1);
+        assertEquals(1, page.getItems().size());
+        assertEquals(underscoreItem.getId(), page.getItems().get(0).getId());
+        assertThat(itemService.searchAfter("e_c", page.getNextCursor(), 1).getItems()).isEmpty();
+    }
+
     @Test
     void updateItemTest() {
         ItemDto itemDto = ItemDto.builder().name("newName").description("newDescr").build();
@@ -17,6 +17,7 @@ import ru.practicum.shareit.item.dto.ItemDtoOut;
 import ru.practicum.shareit.item.mapper.CommentMapper;
 import ru.practicum.shareit.item.mapper.ItemMapper;
 import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.service.CommentEligibility;
 import ru.practicum.shareit.item.service.ItemServiceImpl;
 import ru.practicum.shareit.request.dao.ItemRequestStorage;
 import ru.practicum.shareit.user.dao.UserStorage;
@@ -48,6 +49,8 @@ public class ItemServiceTest {
     private CommentStorage commentStorage;
     @Mock
     private ItemRequestStorage itemRequestStorage;
+    @Mock
+    private CommentEligibility commentEligibility;
 
     @InjectMocks
     private ItemServiceImpl itemService;
@@ -83,7 +86,7 @@ public class ItemServiceTest {
 
     @Test
     void findAllTest() {
-        when(userStorage.findById(user.getId())).thenReturn(Optional.ofNullable(user));
+        when(userStorage.userExists(user.getId())).thenReturn(true);
         when(itemStorage.findAllByOwnerId(anyLong(), any()))
                 .thenReturn(Collections.emptyList());
         assertTrue(itemService.getUserItems(1L, 0, 10).isEmpty());
@@ -170,9 +173,7 @@ public class ItemServiceTest {
         User user1 = new User(1L, "test", "test@mail.ru");
         CommentDto commentDto = new CommentDto();
         commentDto.setText("test");
-        Booking booking = new Booking(1L, LocalDateTime.MIN, LocalDateTime.MIN.plusHours(1), item, user1, Status.APPROVED);
-        when(bookingStorage.findAllByBookerIdAndItemIdAndStatusEqualsAndEndIsBefore(anyLong(), anyLong(), any(), any()))
-                .thenReturn(List.of(booking));
+        when(commentEligibility.canComment(1L, 1L)).thenReturn(true);
         when(itemStorage.findById(1L)).thenReturn(Optional.of(item));
         when(userStorage.findById(anyLong()))
                 .thenReturn(Optional.of(user1));
@@ -189,8 +190,7 @@ public class ItemServiceTest {
         new Booking(1L, LocalDateTime.MIN, LocalDateTime.MIN.plusHours(1), item, new User(1L, "test", "test@test.com"), Status.APPROVED);
         when(userStorage.findById(user.getId())).thenReturn(Optional.of(user));
         when(itemStorage.findById(item.getId())).thenReturn(Optional.of(item));
-        when(bookingStorage.findAllByBookerIdAndItemIdAndStatusEqualsAndEndIsBefore(anyLong(), anyLong(), any(), any()))
-                .thenReturn(List.of());
+        when(commentEligibility.canComment(anyLong(), anyLong())).thenReturn(false);
         assertThrows(BadRequestException.class, () -> itemService.addComment(1L, 1L, commentDto));
     }
 }
@@ -8,16 +8,21 @@ import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.test.context.junit4.SpringRunner;
+import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.item.dao.ItemStorage;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.request.model.ItemRequest;
 import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.util.FromSizeRequest;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static ru.practicum.shareit.util.Status.APPROVED;
+import static ru.practicum.shareit.util.Status.WAITING;
 
 @DataJpaTest
 @AutoConfigureTestDatabase
@@ -59,6 +64,16 @@ class ItemStorageTest {
         assertEquals(item2, items.get(1));
     }
 
+    @Test
+    void findAllByOwnerIdFromNotMultipleOfSize() {
+        em.persist(user);
+        em.persist(item);
+        em.persist(item2);
+        List<Item> items = (List<Item>) itemStorage.findAllByOwnerId(user.getId(), FromSizeRequest.of(1, 2));
+        assertEquals(1, items.size());
+        assertEquals(item2, items.get(0));
+    }
+
     @Test
     void searchTest() {
         em.persist(user);
@@ -70,6 +85,60 @@ class ItemStorageTest {
         assertEquals("item1", items.get(0).getName());
     }
 
+    @Test
+    void searchAvailableExcludesApprovedOverlapsTest() {
+        User booker = new User(null, "booker", "booker@mail.ru");
+        em.persist(user);
+        em.persist(booker);
+        em.persist(item);
+        em.persist(item2);
+        LocalDateTime start = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.SECONDS);
+        em.persist(new Booking(null, start.plusHours(1), start.plusHours(2), item, booker, APPROVED));
+        em.persist(new Booking(null, start, start.plusDays(1), item2, booker, WAITING));
+        List<Item> items = itemStorage.searchAvailable("desc", start, start.plusHours(3), APPROVED, PageRequest.of(0, 20));
+        assertEquals(List.of(item2), items);
+        items = itemStorage.searchAvailable("desc", start.plusHours(2), start.plusHours(3), APPROVED, PageRequest.of(0, 20));
+        assertEquals(List.of(item, item2), items);
+    }
+
+    @Test
+    void searchRanksNameMatchesFirstTest() {
+        Item descriptionMatch = new Item(null, "saw", "drill attachment", true, user, null);
+        Item nameMatch = new Item(null, "Drill", "cordless", true, user, null);
+        em.persist(user);
+        em.persist(descriptionMatch);
+        em.persist(nameMatch);
+        List<Item> items = itemStorage.search("drill", PageRequest.of(0, 20));
+        assertEquals(2, items.size());
+        assertEquals("Drill", items.get(0).getName());
+        assertEquals("saw", items.get(1).getName());
+    }
+
+    @Test
+    void findAllByOwnerIdAndIdGreaterThanTest() {
+        em.persist(user);
+        em.persist(item);
+        em.persist(item2);
+        List<Item> items = itemStorage.findAllByOwnerIdAndIdGreaterThan(user.getId(), item.getId(),
+                PageRequest.of(0, 20));
+        assertEquals(1, items.size());
+        assertEquals(item2, items.get(0));
+    }
+
+    @Test
+    void searchAfterTest() {
+        Item descriptionMatch = new Item(null, "saw", "drill attachment", true, user, null);
+        Item nameMatch = new Item(null, "Drill", "cordless", true, user, null);
+        em.persist(user);
+        em.persist(descriptionMatch);
+        em.persist(nameMatch);
+        List<Item> firstPage = itemStorage.searchAfter("drill", 0, 0L, PageRequest.of(0, 1));
+        assertEquals("Drill", firstPage.get(0).getName());
+        List<Item> secondPage = itemStorage.searchAfter("drill", 0, nameMatch.getId(), PageRequest.of(0, 1));
+        assertEquals("saw", secondPage.get(0).getName());
+        assertEquals(0, itemStorage.searchAfter("drill", 1, descriptionMatch.getId(), PageRequest.of(0, 1)).size());
+    }
+
     @Test
     void findByItemRequestIdTest() {
         ItemRequest itemRequest = ItemRequest.builder()
@@ -81,14 +81,14 @@ public class ItemRequestServiceTest {
 
     @Test
     void getRequestsListUserNotFoundTest() {
-        when(userStorage.findById(anyLong())).thenThrow(new UserNotFoundException("User not found"));
+        when(userStorage.userExists(anyLong())).thenReturn(false);
         UserNotFoundException e = assertThrows(UserNotFoundException.class, () -> itemRequestService.getAllByUserId(1L));
-        assertEquals("User not found", e.getMessage());
+        assertEquals("User 1 not found", e.getMessage());
     }
 
     @Test
     void getRequestInfoTest() {
-        when(userStorage.findById(anyLong())).thenReturn(Optional.ofNullable(user));
+        when(userStorage.userExists(anyLong())).thenReturn(true);
         ItemRequest itemRequest = ItemRequestMapper.toItemRequest(itemRequestDto, user);
         when(requestStorage.findById(anyLong())).thenReturn(Optional.of(itemRequest));
         item.setItemRequest(itemRequest);
@@ -101,7 +101,7 @@ public class ItemRequestServiceTest {
 
     @Test
     void getRequestByIdRequestNotFoundTest() {
-        when(userStorage.findById(anyLong())).thenReturn(Optional.ofNullable(user));
+        when(userStorage.userExists(anyLong())).thenReturn(true);
         when(requestStorage.findById(anyLong())).thenThrow(new RequestNotFoundException("Request not found"));
         RequestNotFoundException e = assertThrows(RequestNotFoundException.class, () ->
                 itemRequestService.getById(user.getId(), 1L));
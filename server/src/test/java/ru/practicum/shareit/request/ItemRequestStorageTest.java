@@ -15,6 +15,7 @@ import ru.practicum.shareit.user.dao.UserStorage;
 import ru.practicum.shareit.user.model.User;
 
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
 
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
@@ -51,14 +52,14 @@ public class ItemRequestStorageTest {
         itemRequest = ItemRequest.builder()
                 .id(1L)
                 .description("descr")
-                .created(LocalDateTime.now().plusHours(2))
+                .created(LocalDateTime.now().plusHours(2).truncatedTo(ChronoUnit.SECONDS))
                 .requester(user)
                 .build();
 
         itemRequest2 = ItemRequest.builder()
                 .id(2L)
                 .description("descr")
-                .created(LocalDateTime.now().plusHours(2))
+                .created(LocalDateTime.now().plusHours(2).truncatedTo(ChronoUnit.SECONDS))
                 .requester(user2)
                 .build();
 
@@ -66,7 +67,7 @@ public class ItemRequestStorageTest {
         itemRequestStorage.save(itemRequest);
         userStorage.save(user2);
 
-        itemRequestStorage.save(itemRequest2);
+        itemRequest2 = itemRequestStorage.save(itemRequest2);
     }
 
     @AfterEach
@@ -92,4 +93,13 @@ public class ItemRequestStorageTest {
         PageRequest pageRequest = PageRequest.of(0, 10, Sort.by(Sort.Direction.ASC, "created"));
         assertThat(itemRequestStorage.findAllByRequesterIdIsNot(user.getId(), pageRequest).size(), equalTo(1));
     }
+
+    @Test
+    void findAllByRequesterIdIsNotAfterTest() {
+        PageRequest pageRequest = PageRequest.of(0, 10);
+        assertThat(itemRequestStorage.findAllByRequesterIdIsNotAfter(user.getId(),
+                LocalDateTime.of(1970, 1, 1, 0, 0), 0L, pageRequest).size(), equalTo(1));
+        assertThat(itemRequestStorage.findAllByRequesterIdIsNotAfter(user.getId(),
+                itemRequest2.getCreated(), itemRequest2.getId(), pageRequest).size(), equalTo(0));
+    }
 }
@@ -10,6 +10,7 @@ import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.mapper.UserMapper;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.service.UserService;
+import ru.practicum.shareit.util.exception.EmailAlreadyExistException;
 import ru.practicum.shareit.util.exception.UserNotFoundException;
 
 import java.util.List;
@@ -76,4 +77,11 @@ public class UserServiceIntegrationTest {
         userService.delete(user.getId());
         assertFalse(userStorage.existsById(user.getId()));
     }
+
+    @Test
+    public void addUserWithDuplicateEmailTest() {
+        userService.add(UserDto.builder().name("first").email("duplicate@mail.com").build());
+        UserDto duplicate = UserDto.builder().name("second").email("duplicate@mail.com").build();
+        assertThrows(EmailAlreadyExistException.class, () -> userService.add(duplicate));
+    }
 }
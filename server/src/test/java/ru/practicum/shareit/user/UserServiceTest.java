@@ -1,18 +1,22 @@
 package ru.practicum.shareit.user;
 
+import org.hibernate.exception.ConstraintViolationException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
 import ru.practicum.shareit.user.dao.UserStorage;
 import ru.practicum.shareit.user.dto.UserDto;
 import ru.practicum.shareit.user.mapper.UserMapper;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.service.UserServiceImpl;
+import ru.practicum.shareit.util.exception.EmailAlreadyExistException;
 import ru.practicum.shareit.util.exception.UserNotFoundException;
 
+import java.sql.SQLException;
 import java.util.Collections;
 import java.util.Optional;
 
@@ -78,10 +82,10 @@ public class UserServiceTest {
 
     @Test
     void userAddSuccessTest() {
-        when(userStorage.save(any())).thenReturn(user);
+        when(userStorage.saveAndFlush(any())).thenReturn(user);
         var actualUserDto = userService.add(userDto);
         assertEquals(userDto, actualUserDto);
-        verify(userStorage).save(any());
+        verify(userStorage).saveAndFlush(any());
     }
 
     @Test
@@ -103,7 +107,7 @@ public class UserServiceTest {
 
         UserDto userAfter = UserDto.builder()
                 .email("updatemail@mail.ru").build();
-        when(userStorage.save(any())).thenReturn(userBefore);
+        when(userStorage.saveAndFlush(any())).thenReturn(userBefore);
         when(userStorage.findById(anyLong()))
                 .thenReturn(Optional.ofNullable(userBefore));
 
@@ -117,7 +121,7 @@ public class UserServiceTest {
         UserDto userAfter = UserDto.builder()
                 .name("newmail@mail.ru")
                 .build();
-        when(userStorage.save(any())).thenReturn(user);
+        when(userStorage.saveAndFlush(any())).thenReturn(user);
         when(userStorage.findById(anyLong()))
                 .thenReturn(Optional.ofNullable(user));
 
@@ -132,4 +136,24 @@ public class UserServiceTest {
         userService.delete(1L);
         verify(userStorage).deleteById(any());
     }
+
+    @Test
+    void addEmailConstraintViolationTest() {
+        when(userStorage.saveAndFlush(any())).thenThrow(uniqueViolation("UQ_USER_EMAIL"));
+        EmailAlreadyExistException e = assertThrows(EmailAlreadyExistException.class,
+                () -> userService.add(userDto));
+        assertEquals("Email test@mail.ru already in use.", e.getMessage());
+    }
+
+    @Test
+    void addOtherConstraintViolationTest() {
+        when(userStorage.saveAndFlush(any())).thenThrow(uniqueViolation("users_pkey"));
+        assertThrows(DataIntegrityViolationException.class, () -> userService.add(userDto));
+    }
+
+    private static DataIntegrityViolationException uniqueViolation(String constraintName) {
+        return new DataIntegrityViolationException("could not execute statement",
+                new ConstraintViolationException("could not execute statement",
+                        new SQLException("duplicate key", "23505"), constraintName));
+    }
 }
@@ -40,4 +40,10 @@ class UserStorageTest {
     void getByIdAndCheck_isInvalid() {
         assertFalse(userRepository.findById(999L).isPresent());
     }
+
+    @Test
+    void userExists_isValid() {
+        assertTrue(userRepository.userExists(createdUser1.getId()));
+        assertFalse(userRepository.userExists(999L));
+    }
 }